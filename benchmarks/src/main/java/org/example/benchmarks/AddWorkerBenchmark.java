@@ -0,0 +1,60 @@
+package org.example.benchmarks;
+
+import org.example.Village;
+import org.example.events.NoOpEventSink;
+import org.example.objects.WorkerBatch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills a village up to maxWorkers, including one rejected worker at the end,
+ * with addWorker one worker at a time and with addWorkers in one batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddWorkerBenchmark {
+    @Param({"1000", "100000"})
+    private int maxWorkers;
+
+    private String[] names;
+    private WorkerBatch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        names = new String[maxWorkers + 1];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "Worker" + i;
+        }
+        batch = new WorkerBatch(names.length);
+        for (String name : names) {
+            batch.add(name, "farmer");
+        }
+    }
+
+    @Benchmark
+    public int fillVillage() {
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setMaxWorkers(maxWorkers);
+        int added = 0;
+        for (String name : names) {
+            if (village.addWorker(name, "farmer")) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Benchmark
+    public int fillVillageInBatch() {
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setMaxWorkers(maxWorkers);
+        return village.addWorkers(batch).getAccepted();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.benchmarks;
+
+import org.example.Village;
+import org.example.events.NoOpEventSink;
+import org.example.objects.WorkerTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One day tick for villages of different sizes, occupation mixes, worker stores and day modes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DayBenchmark {
+    @Param({"10", "1000", "1000000"})
+    private int workers;
+    @Param({"farmer", "lumberjack", "miner", "builder", "mixed"})
+    private String occupations;
+    @Param({"list", "table"})
+    private String store;
+    @Param({"worker", "aggregate", "parallel"})
+    private String mode;
+
+    private Village village;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        village = store.equals("table") ? new Village(new WorkerTable(workers)) : new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setAggregateDay(mode.equals("aggregate"));
+        village.setParallelDay(mode.equals("parallel"));
+        village.setMaxWorkers(workers);
+        String[] mix = occupations.equals("mixed")
+                ? new String[] {"farmer", "lumberjack", "miner", "builder"}
+                : new String[] {occupations};
+        for (int i = 0; i < workers; i++) {
+            village.addWorker("Worker" + i, mix[i % mix.length]);
+        }
+    }
+
+    // Builders always have a project that will not complete during the iteration.
+    @Setup(Level.Iteration)
+    public void resetProject() {
+        if (village.getProjects().isEmpty()) {
+            village.setWood(50);
+            village.setMetal(50);
+            village.addProject("Castle");
+        }
+        village.getProjects().get(0).setDaysLeft(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Village day() {
+        village.setFood(workers);
+        village.Day();
+        return village;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.benchmarks;
+
+import org.example.DatabaseConnection;
+import org.example.Village;
+import org.example.events.NoOpEventSink;
+import org.example.storage.FileDatabaseConnection;
+import org.example.storage.LogVillageStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves a village and loads it back through DatabaseConnection, backed by a log file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+    @Param({"10", "10000"})
+    private int workers;
+
+    private Path file;
+    private LogVillageStorage storage;
+    private DatabaseConnection databaseConnection;
+    private Village village;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("villages", ".db");
+        storage = new LogVillageStorage(file);
+        databaseConnection = new FileDatabaseConnection(storage);
+        village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setMaxWorkers(workers);
+        for (int i = 0; i < workers; i++) {
+            village.addWorker("Worker" + i, "farmer");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Village saveAndLoad() {
+        databaseConnection.SaveVillage(village, "Benchmark town");
+        return databaseConnection.LoadVillage("Benchmark town");
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.benchmarks;
+
+import org.example.Village;
+import org.example.events.NoOpEventSink;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues a number of projects with addProject and drains the queue with Build.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectQueueBenchmark {
+    @Param({"100", "10000"})
+    private int depth;
+
+    @Benchmark
+    public Village drainQueue() {
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setWood(5 * depth);
+        for (int i = 0; i < depth; i++) {
+            village.addProject("House");
+        }
+        while (!village.getProjects().isEmpty()) {
+            village.Build("Arta");
+        }
+        return village;
+    }
+}
@@ -1,8 +1,41 @@
 package org.example;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class Main {
-    public static void main(String[] args) {
+    /**
+     * With no arguments the game is played at the keyboard. {@code --script <file>}
+     * runs the commands in the file instead, or those on standard input if the
+     * file is {@code -}, and {@code --status-every <days>} prints the village
+     * that often during a script.
+     */
+    public static void main(String[] args) throws IOException {
+        String script = null;
+        int statusInterval = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--script" -> script = Argument(args, ++i);
+                case "--status-every" -> statusInterval = Integer.parseInt(Argument(args, ++i));
+                default -> throw new IllegalArgumentException("Unknown argument " + args[i] + ".");
+            }
+        }
         VillageInput village = new VillageInput();
-        village.Run();
+        if (script == null) {
+            village.Run();
+        }
+        else if (script.equals("-")) {
+            village.RunScript(System.in, statusInterval);
+        }
+        else {
+            village.RunScript(Path.of(script), statusInterval);
+        }
+    }
+
+    private static String Argument(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(args[i - 1] + " needs a value.");
+        }
+        return args[i];
     }
-}
\ No newline at end of file
+}
@@ -1,140 +1,833 @@
 package org.example;
 
+import org.example.events.ConsoleEventSink;
 import org.example.interfaces.IOccupationAction;
+import org.example.interfaces.IVillageEventListener;
+import org.example.interfaces.IWorkerStore;
+import org.example.metrics.DayMetrics;
+import org.example.objects.AdmissionResult;
+import org.example.objects.BuilderPolicy;
 import org.example.objects.Building;
+import org.example.objects.BuildingInventory;
+import org.example.objects.BuildingCatalog;
+import org.example.objects.BuildingEffect;
+import org.example.objects.ChangeTracker;
+import org.example.objects.Occupation;
 import org.example.objects.PossibleProject;
 import org.example.objects.Project;
+import org.example.objects.ProjectQueue;
+import org.example.objects.ResourceLedger;
 import org.example.objects.Worker;
+import org.example.objects.WorkerBatch;
+import org.example.objects.WorkerCounts;
+import org.example.objects.WorkerList;
+import org.example.simulation.BuilderCrews;
+import org.example.simulation.StarvationSchedule;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 public class Village {
 
     private boolean gameOver = false;
-    private int food = 0;
-    private int wood = 0;
-    private int metal = 0;
-    private ArrayList<Worker> workers = new ArrayList<>();
-    private ArrayList<Building> buildings = new ArrayList<>();
-    private ArrayList<Project> projects = new ArrayList<>();
-    private final HashMap<String, IOccupationAction> occupationHashMap = new HashMap<>();
-    private final HashMap<String, PossibleProject> possibleProjects = new HashMap<>();
-    private int metalPerDay = 1;
-    private int woodPerDay = 1;
-    private int foodPerDay = 5;
-    private int maxWorkers = 0;
+    private final ResourceLedger resources = new ResourceLedger();
+    private IWorkerStore workers = new WorkerList();
+    private final BuildingInventory buildings = new BuildingInventory();
+    private ProjectQueue projects = new ProjectQueue();
+    private final BuildingCatalog catalog;
     private int daysGone = 0;
+    private int daysUntilStarvation = Worker.daysUntilStarvation;
+    private boolean aggregateDay = false;
+    private IVillageEventListener events = new ConsoleEventSink();
+    private ChangeTracker changes;
+    private DayMetrics metrics;
+    private VillageReport report;
+    private BuilderPolicy builderPolicy = BuilderPolicy.SINGLE_HEAD;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private BuilderCrews builderCrews = new BuilderCrews(pool);
+    private boolean parallelDay = false;
+    private boolean working = false;
+    private int crewEffort = 0;
+    private StarvationSchedule starvation;
+    // Null until the workers are next counted, after they were handed out and may have been changed.
+    private WorkerCounts counts;
 
     public Village(boolean gameOver, int food, int wood, int metal, ArrayList<Worker> workers,
                    ArrayList<Building> buildings, ArrayList<Project> projects, int metalPerDay, int woodPerDay, int foodPerDay, int maxWorkers, int daysGone, int daysUntilStarvation) {
         this();
         this.gameOver = gameOver;
-        this.food = food;
-        this.wood = wood;
-        this.metal = metal;
-        this.workers = workers;
-        this.buildings = buildings;
-        this.projects = projects;
-        this.metalPerDay = metalPerDay;
-        this.woodPerDay = woodPerDay;
-        this.foodPerDay = foodPerDay;
-        this.maxWorkers = maxWorkers;
+        resources.setFood(food);
+        resources.setWood(wood);
+        resources.setMetal(metal);
+        this.workers = new WorkerList(workers);
+        setBuildings(buildings);
+        this.projects = new ProjectQueue(projects);
+        resources.setMetalPerDay(metalPerDay);
+        resources.setWoodPerDay(woodPerDay);
+        resources.setFoodPerDay(foodPerDay);
+        resources.setMaxWorkers(maxWorkers);
         this.daysGone = daysGone;
-        Worker.daysUntilStarvation = daysUntilStarvation;
+        this.daysUntilStarvation = daysUntilStarvation;
     }
 
     public Village() {
-        occupationHashMap.put("farmer", name -> AddFood(name));
-        occupationHashMap.put("lumberjack", name -> AddWood(name));
-        occupationHashMap.put("miner", name -> AddMetal(name));
-        occupationHashMap.put("builder", name -> Build(name));
-
-        possibleProjects.put("House", new PossibleProject("House", 5,0,3, () -> NewHouse()));
-        possibleProjects.put("Woodmill", new PossibleProject("Woodmill", 5,1,5, () -> NewWoodmill()));
-        possibleProjects.put("Quarry", new PossibleProject("Quarry", 3,5,7, () -> NewQuarry()));
-        possibleProjects.put("Farm", new PossibleProject("Farm", 5,2,5, () -> NewFarm()));
-        possibleProjects.put("Castle", new PossibleProject("Castle", 50,50,50, () -> NewCastle()));
-
-        buildings.add(new Building("House"));
-        buildings.add(new Building("House"));
-        buildings.add(new Building("House"));
-        maxWorkers = 6;
-        food = 10;
+        this(BuildingCatalog.Default());
+    }
+
+    public Village(BuildingCatalog catalog) {
+        this.catalog = catalog;
+        buildings.add("House");
+        buildings.add("House");
+        buildings.add("House");
+        resources.setMaxWorkers(6);
+        resources.setFood(10);
+    }
+
+    public Village(IWorkerStore workers) {
+        this();
+        this.workers = workers;
     }
+
     public void Day() {
+        if (metrics != null) {
+            metrics.StartDay(Counts().getAlive());
+        }
+        if (parallelDay && CanWorkInParallel()) {
+            Settle();
+            ParallelDay();
+        }
+        else if (aggregateDay || parallelDay) {
+            AggregateDay();
+        }
+        else {
+            WorkerDay();
+        }
+        if (metrics != null) {
+            metrics.EndDay(daysGone, counts.getAlive());
+        }
+    }
+
+    /**
+     * A day walked worker by worker, with a callback and a printout for each.
+     */
+    private void WorkerDay() {
+        Settle();
+        Counts();
         FeedWorkers();
-        boolean someoneAlive = false;
-        for (Worker worker: workers) {
-            worker.DoWork();
-            if (worker.isAlive()) {
-                someoneAlive = true;
+        if (metrics != null) {
+            metrics.Fed();
+        }
+        working = true;
+        for (int i = 0; i < workers.size(); i++) {
+            boolean wasAlive = workers.isAlive(i);
+            if (changes != null && wasAlive && workers.isHungry(i)) {
+                changes.MarkWorker(i);
+            }
+            if (workers.DoWork(i, events, daysUntilStarvation)) {
+                Work(workers.getOccupationType(i), workers.getName(i));
             }
+            else if (wasAlive) {
+                CountStarving(i);
+            }
+        }
+        working = false;
+        if (metrics != null) {
+            metrics.Worked();
+        }
+        BuildWithCrews();
+        if (metrics != null) {
+            metrics.Built();
         }
         daysGone++;
-        if (!someoneAlive && workers.size() > 0) {
-            System.out.println("Everyone is dead! You lasted " + daysGone + " days!");
+        Changed(ChangeTracker.FOOD | ChangeTracker.WOOD | ChangeTracker.METAL | ChangeTracker.DAYS_GONE);
+        if (counts.getAlive() == 0 && workers.size() > 0) {
+            events.EveryoneDied(daysGone);
             GameOver();
         }
     }
 
-    public void GameOver() {
-        gameOver = true;
+    /**
+     * A day that gives the same result as {@link #Day()}, but without a
+     * callback and a printout per worker. Fed workers are counted per
+     * occupation and their resources are added in one step. Builders are
+     * counted too, and their effort is put into the project queue at once.
+     * Only when the counted effort finishes the head project are the pending
+     * resources and effort applied at that point in the day, since a finished
+     * project can change the per-day rates for the workers after it.
+     *
+     * Food goes to the first living workers in order, so the unfed workers of
+     * a day all come after the last fed one. Unless changes are tracked, those
+     * workers are put on a {@link StarvationSchedule} instead of being walked
+     * every day; they are only looked at again when they are fed or on the day
+     * they starve. See {@link #Settle()}.
+     */
+    private void AggregateDay() {
+        if (changes != null) {
+            Settle();
+        }
+        else if (starvation == null) {
+            starvation = new StarvationSchedule(workers.size(), daysUntilStarvation);
+        }
+        boolean scheduled = starvation != null;
+        Counts();
+        long food = resources.getFood();
+        int fedUntil = 0;
+        for (int i = 0; i < workers.size(); i++) {
+            if (food > 0 && workers.isAlive(i)) {
+                if (changes != null) {
+                    TrackFeeding(i, true);
+                }
+                if (scheduled) {
+                    starvation.Cancel(i);
+                }
+                if (workers.getDaysHungry(i) > 0) {
+                    counts.Fed();
+                }
+                workers.Feed(i);
+                food--;
+                fedUntil = i + 1;
+            }
+            else if (changes != null && workers.isAlive(i)) {
+                TrackFeeding(i, false);
+            }
+            else if (food == 0 && changes == null) {
+                break;
+            }
+        }
+        resources.setFood(food);
+        if (metrics != null) {
+            metrics.Fed();
+        }
+        // Workers from here on are dead or scheduled to starve, and unfed today.
+        int end = scheduled ? Math.max(starvation.getCutoff(), fedUntil) : workers.size();
+        int walkUntil = fedUntil;
+        int farmers = 0;
+        int lumberjacks = 0;
+        int miners = 0;
+        int effort = 0;
+        int effortToComplete = EffortToComplete();
+        for (int i = 0; i < end; i++) {
+            // A scheduled worker walked again, because a worker behind it is not
+            // scheduled yet, first gets the hunger the schedule held back. It is
+            // taken off the schedule, so a death today is counted here only, and
+            // scheduled again below if it is still unfed and alive.
+            if (scheduled && starvation.isScheduled(i)) {
+                workers.Starve(i, daysGone - starvation.getStart(i), daysUntilStarvation);
+                starvation.Cancel(i);
+            }
+            boolean wasAlive = workers.isAlive(i);
+            if (changes != null && wasAlive && workers.isHungry(i)) {
+                changes.MarkWorker(i);
+            }
+            if (!workers.WorkQuietly(i, daysUntilStarvation)) {
+                if (wasAlive) {
+                    CountStarving(i);
+                }
+            }
+            else {
+                switch (workers.getOccupationType(i)) {
+                    case FARMER -> farmers++;
+                    case LUMBERJACK -> lumberjacks++;
+                    case MINER -> miners++;
+                    case BUILDER -> {
+                        if (builderPolicy != BuilderPolicy.SINGLE_HEAD) {
+                            crewEffort++;
+                            break;
+                        }
+                        effort++;
+                        if (effort == effortToComplete) {
+                            Gather(farmers, lumberjacks, miners);
+                            farmers = 0;
+                            lumberjacks = 0;
+                            miners = 0;
+                            ApplyBuildEffort(effort);
+                            effort = 0;
+                            effortToComplete = EffortToComplete();
+                        }
+                    }
+                }
+            }
+            // An unfed worker is scheduled once it has gone hungry, so that the
+            // hunger count holds for scheduled workers. A worker that has not,
+            // because it was only just added, is walked again tomorrow.
+            if (scheduled && i >= fedUntil && workers.isAlive(i)) {
+                if (workers.getDaysHungry(i) > 0) {
+                    starvation.Schedule(i, daysGone + 1, workers.getDaysHungry(i));
+                }
+                else {
+                    walkUntil = i + 1;
+                }
+            }
+        }
+        if (scheduled) {
+            int today = daysGone;
+            starvation.Due(today, i -> {
+                workers.Starve(i, today - starvation.getStart(i) + 1, daysUntilStarvation);
+                if (workers.isAlive(i)) {
+                    starvation.Schedule(i, today + 1, workers.getDaysHungry(i));
+                }
+                else {
+                    counts.Died(workers.getOccupationType(i), true);
+                }
+            });
+            starvation.setCutoff(walkUntil);
+        }
+        if (metrics != null) {
+            metrics.Worked();
+        }
+        Gather(farmers, lumberjacks, miners);
+        ApplyBuildEffort(effort);
+        BuildWithCrews();
+        if (metrics != null) {
+            metrics.Built();
+        }
+        daysGone++;
+        Changed(ChangeTracker.FOOD | ChangeTracker.WOOD | ChangeTracker.METAL | ChangeTracker.DAYS_GONE);
+        if (counts.getAlive() == 0 && workers.size() > 0) {
+            events.EveryoneDied(daysGone);
+            GameOver();
+        }
     }
 
+    // Workers per segment of a parallel day. A multiple of 64, so segments never share a word of the worked bits.
+    private static final int SEGMENT = 8192;
 
-    public void PrintInfo() {
-        if (workers.size() > 0) {
-            System.out.println("You have " + workers.size() + " workers. They are: ");
-            for (Worker worker : workers) {
-                System.out.println(worker.getName() + ", " + worker.getOccupation() + ".");
-                if (worker.isHungry() && worker.getDaysHungry() > 0) {
-                    System.out.println(worker.getName() + " has been hungry for " + worker.getDaysHungry() + " days!");
+    /**
+     * A parallel day needs more than one segment of workers and no change
+     * tracking, which is not thread-safe.
+     */
+    private boolean CanWorkInParallel() {
+        return workers.size() > SEGMENT && changes == null;
+    }
+
+    /**
+     * A quiet day like {@link #AggregateDay()} where the workers are split into
+     * segments that work on the pool at the same time. Each segment counts the
+     * workers that worked, per occupation, in its own stripe of counters, and
+     * marks them in a bit set. The stripes are then merged in segment order.
+     * A segment is only walked worker by worker again if a project is finished
+     * by one of its builders, because the rates can change at that point.
+     * The end state is exactly that of {@link #AggregateDay()}.
+     */
+    private void ParallelDay() {
+        int size = workers.size();
+        int segments = (size + SEGMENT - 1) / SEGMENT;
+        FeedInParallel(size, segments);
+        if (metrics != null) {
+            metrics.Fed();
+        }
+
+        long[] worked = new long[(size + 63) >>> 6];
+        long[][] stripes = new long[segments][4];
+        WorkerCounts[] living = new WorkerCounts[segments];
+        pool.submit(() -> IntStream.range(0, segments).parallel().forEach(segment -> {
+            long[] counts = stripes[segment];
+            WorkerCounts segmentCounts = new WorkerCounts();
+            int end = Math.min(size, (segment + 1) * SEGMENT);
+            for (int i = segment * SEGMENT; i < end; i++) {
+                if (workers.WorkQuietly(i, daysUntilStarvation)) {
+                    worked[i >>> 6] |= 1L << i;
+                    counts[workers.getOccupationType(i).ordinal()]++;
                 }
+                if (workers.isAlive(i)) {
+                    segmentCounts.Count(workers.getOccupationType(i), workers.getDaysHungry(i) > 0);
+                }
+            }
+            living[segment] = segmentCounts;
+        })).join();
+        counts = WorkerCounts.Sum(living);
+
+        long farmers = 0;
+        long lumberjacks = 0;
+        long miners = 0;
+        long effort = 0;
+        int effortToComplete = EffortToComplete();
+        boolean crews = builderPolicy != BuilderPolicy.SINGLE_HEAD;
+        for (int segment = 0; segment < segments; segment++) {
+            long[] counts = stripes[segment];
+            if (crews || effortToComplete < 0 || effort + counts[3] < effortToComplete) {
+                farmers += counts[0];
+                lumberjacks += counts[1];
+                miners += counts[2];
+                effort += counts[3];
+                continue;
             }
+            int end = Math.min(size, (segment + 1) * SEGMENT);
+            for (int i = segment * SEGMENT; i < end; i++) {
+                if ((worked[i >>> 6] & (1L << i)) == 0) {
+                    continue;
+                }
+                switch (workers.getOccupationType(i)) {
+                    case FARMER -> farmers++;
+                    case LUMBERJACK -> lumberjacks++;
+                    case MINER -> miners++;
+                    case BUILDER -> {
+                        effort++;
+                        if (effort == effortToComplete) {
+                            Gather(farmers, lumberjacks, miners);
+                            farmers = 0;
+                            lumberjacks = 0;
+                            miners = 0;
+                            ApplyBuildEffort((int) effort);
+                            effort = 0;
+                            effortToComplete = EffortToComplete();
+                        }
+                    }
+                }
+            }
+        }
+        if (metrics != null) {
+            metrics.Worked();
+        }
+        Gather(farmers, lumberjacks, miners);
+        if (crews) {
+            crewEffort = (int) effort;
+            BuildWithCrews();
         }
         else {
-            System.out.println("You have no workers.");
+            ApplyBuildEffort((int) effort);
+        }
+        if (metrics != null) {
+            metrics.Built();
+        }
+        daysGone++;
+        if (counts.getAlive() == 0 && workers.size() > 0) {
+            events.EveryoneDied(daysGone);
+            GameOver();
+        }
+    }
+
+    /**
+     * Feeds the same workers as the sequential loop: the first {@code food}
+     * living workers in list order. The living workers of each segment are
+     * counted on the pool, a prefix sum over the counts tells each segment how
+     * much food is left when its turn comes, and the segments then feed their
+     * share on the pool. Workers who get nothing are left as they are, just
+     * like in the sequential loop.
+     */
+    private void FeedInParallel(int size, int segments) {
+        int[] alive = new int[segments];
+        pool.submit(() -> IntStream.range(0, segments).parallel().forEach(segment -> {
+            int end = Math.min(size, (segment + 1) * SEGMENT);
+            int count = 0;
+            for (int i = segment * SEGMENT; i < end; i++) {
+                if (workers.isAlive(i)) {
+                    count++;
+                }
+            }
+            alive[segment] = count;
+        })).join();
+
+        long totalAlive = 0;
+        long[] aliveBefore = new long[segments];
+        for (int segment = 0; segment < segments; segment++) {
+            aliveBefore[segment] = totalAlive;
+            totalAlive += alive[segment];
+        }
+        long fed = Math.min(Math.max(resources.getFood(), 0), totalAlive);
+        if (fed == 0) {
+            return;
+        }
+        pool.submit(() -> IntStream.range(0, segments).parallel().forEach(segment -> {
+            long share = Math.min(alive[segment], fed - aliveBefore[segment]);
+            int end = Math.min(size, (segment + 1) * SEGMENT);
+            for (int i = segment * SEGMENT; i < end && share > 0; i++) {
+                if (workers.isAlive(i)) {
+                    workers.Feed(i);
+                    share--;
+                }
+            }
+        })).join();
+        resources.AddFood(-fed);
+    }
+
+    /**
+     * Does a worker's day of work for {@code occupation}.
+     */
+    private void Work(Occupation occupation, String name) {
+        switch (occupation) {
+            case FARMER -> AddFood(name);
+            case LUMBERJACK -> AddWood(name);
+            case MINER -> AddMetal(name);
+            case BUILDER -> Build(name);
+        }
+    }
+
+    /**
+     * How many builds the head project needs before it is finished, or -1 if there is no project.
+     * A project is finished by the build that takes it below one day left, so it always needs at least one.
+     */
+    private int EffortToComplete() {
+        Project head = projects.peekFirst();
+        return head == null ? -1 : Math.max(head.getDaysLeft(), 1);
+    }
+
+    /**
+     * Puts the effort of {@code effort} builds into the project queue, the
+     * same as that many calls to {@link #Build(String)} without the printouts.
+     * Projects are finished in queue order as long as the effort lasts.
+     */
+    private void ApplyBuildEffort(int effort) {
+        while (effort > 0 && !projects.isEmpty()) {
+            Project currentProject = projects.peekFirst();
+            int needed = Math.max(currentProject.getDaysLeft(), 1);
+            MarkProjects();
+            if (effort < needed) {
+                currentProject.setDaysLeft(currentProject.getDaysLeft() - effort);
+                return;
+            }
+            currentProject.setDaysLeft(currentProject.getDaysLeft() - needed);
+            effort -= needed;
+            CompleteHead();
+        }
+    }
+
+    /**
+     * With a builder policy other than {@link BuilderPolicy#SINGLE_HEAD}, the
+     * builders of a day are only counted while the workers work. Their effort
+     * is spread over the project queue here, at the end of the day, possibly
+     * on several threads. Finished projects are then completed on this thread
+     * in queue order.
+     */
+    private void BuildWithCrews() {
+        int effort = crewEffort;
+        crewEffort = 0;
+        if (effort == 0 || projects.isEmpty()) {
+            return;
+        }
+        builderCrews.Work(projects.toArray(new Project[0]), effort, builderPolicy);
+        MarkProjects();
+        ArrayList<Project> finished = new ArrayList<>();
+        int kept = 0;
+        for (int i = 0; i < projects.size(); i++) {
+            Project project = projects.get(i);
+            if (project.isFinished()) {
+                finished.add(project);
+            }
+            else {
+                projects.set(kept++, project);
+            }
         }
-        System.out.println("Your current buildings are: ");
-        for (Building building : buildings) {
-            System.out.print(building.getName() + " ");
+        while (projects.size() > kept) {
+            projects.remove(projects.size() - 1);
         }
-        System.out.println();
-        System.out.println("You can have " + maxWorkers + " workers.");
-        System.out.println("Your current projects are: ");
-        for (Project project : projects) {
-            System.out.print(project.getName() + ", " + project.getDaysLeft() + " points left until completion.");
+        for (Project project : finished) {
+            buildings.add(project.getName());
+            events.ProjectCompleted(project.getName());
+            CompleteProject(project);
         }
-        System.out.println();
-        System.out.println("Current Food:  " + food);
-        System.out.println("Current Wood:  " + wood);
-        System.out.println("Current Metal: " + metal);
-        System.out.println("Generating " + foodPerDay + " food per day per worker.");
-        System.out.println("Generating " + woodPerDay + " wood per day per worker.");
-        System.out.println("Generating " + metalPerDay + " metal per day per worker.");
+    }
+
+    /**
+     * Moves the village forward the given number of days. The end state is the
+     * same as calling {@link #Day()} that many times. While every living worker
+     * is fed and works each day and no project completes, a day only adds the
+     * same amount to the resources, so such stretches are applied in one jump.
+     * Days around events such as hunger, deaths or finished projects are stepped
+     * one at a time.
+     */
+    public void advance(long days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative number of days.");
+        }
+        long remaining = days;
+        while (remaining > 0) {
+            long steadyDays = SteadyDays(remaining);
+            if (steadyDays > 0) {
+                Jump(steadyDays);
+                remaining -= steadyDays;
+            }
+            else {
+                AggregateDay();
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * How many of the next days, at most {@code limit}, are steady: every living
+     * worker is fed and works, nobody dies, no project completes and no value
+     * leaves the int range. Returns 0 if the next day has to be stepped.
+     */
+    private long SteadyDays(long limit) {
+        // Workers that are starving are not steady.
+        if (starvation != null && starvation.getStarving() > 0) {
+            return 0;
+        }
+        Settle();
+        WorkerCounts counts = Counts();
+        long alive = counts.getAlive();
+        long farmers = counts.getOccupation(Occupation.FARMER);
+        long lumberjacks = counts.getOccupation(Occupation.LUMBERJACK);
+        long miners = counts.getOccupation(Occupation.MINER);
+        long builders = counts.getOccupation(Occupation.BUILDER);
+        if (alive == 0 && workers.size() > 0 && !gameOver) {
+            return 0;
+        }
+        long food = resources.getFood();
+        if (food < alive) {
+            return 0;
+        }
+
+        long days = Math.min(limit, Integer.MAX_VALUE - (long) daysGone);
+        long foodGathered = ResourceLedger.Multiply(farmers, resources.getFoodPerDay());
+        if (foodGathered == Long.MAX_VALUE || foodGathered == Long.MIN_VALUE) {
+            return 0;
+        }
+        long foodPerDayNet = ResourceLedger.Add(foodGathered, -alive);
+        if (foodPerDayNet < 0) {
+            days = Math.min(days, (food - alive) / -foodPerDayNet + 1);
+        }
+        days = Math.min(days, DaysInRange(food, foodPerDayNet));
+        days = Math.min(days, DaysInRange(resources.getWood(), ResourceLedger.Multiply(lumberjacks, resources.getWoodPerDay())));
+        days = Math.min(days, DaysInRange(resources.getMetal(), ResourceLedger.Multiply(miners, resources.getMetalPerDay())));
+        if (!projects.isEmpty() && builders > 0) {
+            if (builderPolicy != BuilderPolicy.SINGLE_HEAD) {
+                return 0;
+            }
+            days = Math.min(days, (projects.get(0).getDaysLeft() - 1) / builders);
+        }
+        return Math.max(days, 0);
+    }
+
+    /**
+     * How many days a value can change by {@code perDay} without saturating.
+     * A rate that is itself saturated is never steady.
+     */
+    private static long DaysInRange(long value, long perDay) {
+        if (perDay == Long.MAX_VALUE || perDay == Long.MIN_VALUE) {
+            return 0;
+        }
+        if (perDay > 0) {
+            return (Long.MAX_VALUE - value) / perDay;
+        }
+        if (perDay < 0) {
+            return value == Long.MIN_VALUE ? 0 : (value - Long.MIN_VALUE) / -perDay;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private void Jump(long days) {
+        WorkerCounts counts = Counts();
+        long alive = counts.getAlive();
+        long farmers = counts.getOccupation(Occupation.FARMER);
+        long lumberjacks = counts.getOccupation(Occupation.LUMBERJACK);
+        long miners = counts.getOccupation(Occupation.MINER);
+        long builders = counts.getOccupation(Occupation.BUILDER);
+        for (int i = 0; i < workers.size(); i++) {
+            if (!workers.isAlive(i)) {
+                continue;
+            }
+            if (changes != null) {
+                TrackFeeding(i, true);
+            }
+            if (workers.getDaysHungry(i) > 0) {
+                counts.Fed();
+            }
+            workers.Feed(i);
+            workers.WorkQuietly(i, daysUntilStarvation);
+        }
+        // SteadyDays has made sure none of these leave the long range.
+        resources.setFood(resources.getFood() + days * (farmers * resources.getFoodPerDay() - alive));
+        resources.setWood(resources.getWood() + days * lumberjacks * resources.getWoodPerDay());
+        resources.setMetal(resources.getMetal() + days * miners * resources.getMetalPerDay());
+        if (metrics != null) {
+            metrics.Gathered(days * farmers * resources.getFoodPerDay(), days * lumberjacks * resources.getWoodPerDay(),
+                    days * miners * resources.getMetalPerDay());
+        }
+        if (!projects.isEmpty() && builders > 0) {
+            Project currentProject = projects.get(0);
+            currentProject.setDaysLeft((int) (currentProject.getDaysLeft() - days * builders));
+            MarkProjects();
+        }
+        daysGone = (int) (daysGone + days);
+        Changed(ChangeTracker.FOOD | ChangeTracker.WOOD | ChangeTracker.METAL | ChangeTracker.DAYS_GONE);
+    }
+
+    /**
+     * Marks a living worker as changed if today's feeding and work will leave
+     * it different from how it started the day. A worker that was fed
+     * yesterday and is fed again today ends the day exactly as it began.
+     */
+    private void TrackFeeding(int index, boolean fed) {
+        if (!workers.isHungry(index) || (fed && workers.getDaysHungry(index) > 0)) {
+            changes.MarkWorker(index);
+        }
+    }
+
+    private void Changed(int fields) {
+        if (changes != null) {
+            changes.MarkFields(fields);
+        }
+    }
+    private void MarkProjects() {
+        if (changes != null) {
+            changes.MarkProjects();
+        }
+    }
+    private void MarkRebase() {
+        if (changes != null) {
+            changes.MarkRebase();
+        }
+    }
+
+    /**
+     * Starts tracking what changes in the village, for saves that only write the changes.
+     */
+    public ChangeTracker TrackChanges() {
+        Settle();
+        if (changes == null) {
+            changes = new ChangeTracker();
+            workers.setChangeTracker(changes);
+            projects.setChangeTracker(changes);
+            buildings.setChangeTracker(changes);
+        }
+        return changes;
+    }
+
+    public ChangeTracker getChangeTracker() {
+        return changes;
+    }
+
+    public DayMetrics getMetrics() {
+        return metrics;
+    }
+    /**
+     * Times the phases of every {@link #Day()} and counts what it produces into
+     * {@code metrics}; null, the default, turns this off.
+     */
+    public void setMetrics(DayMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Writes the hunger of the workers on the {@link StarvationSchedule} back to
+     * the worker store and drops the schedule. Called before anything but a
+     * quiet day looks at the workers; the next quiet day walks every worker
+     * again and starts a new schedule.
+     */
+    private void Settle() {
+        if (starvation == null) {
+            return;
+        }
+        StarvationSchedule schedule = starvation;
+        starvation = null;
+        schedule.ForEachScheduled(i -> workers.Starve(i, daysGone - schedule.getStart(i), daysUntilStarvation));
+    }
+
+    /**
+     * The counts of the workers, counting them first if they were handed out since they were last counted.
+     */
+    private WorkerCounts Counts() {
+        if (counts == null) {
+            counts = WorkerCounts.Count(workers);
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the hunger of living worker {@code i}, who went without food today.
+     */
+    private void CountStarving(int i) {
+        int daysHungry = workers.getDaysHungry(i);
+        if (!workers.isAlive(i)) {
+            counts.Died(workers.getOccupationType(i), daysHungry > 1);
+        }
+        else if (daysHungry == 1) {
+            counts.Hungry();
+        }
+    }
+
+    private void Gather(long farmers, long lumberjacks, long miners) {
+        resources.Gather(farmers, lumberjacks, miners);
+        if (metrics != null) {
+            metrics.Gathered(farmers * resources.getFoodPerDay(), lumberjacks * resources.getWoodPerDay(),
+                    miners * resources.getMetalPerDay());
+        }
+    }
+
+    public void GameOver() {
+        gameOver = true;
+        Changed(ChangeTracker.GAME_OVER);
+    }
+
+
+    /**
+     * Prints the whole village, a line per worker. See {@link VillageReport} for a summary that does not grow with the village.
+     */
+    public void PrintInfo() {
+        if (report == null) {
+            report = new VillageReport();
+        }
+        report.Full(this);
     }
 
 
 
    public boolean addWorker(String name, String occupation) {
-        if (workers.size() >= maxWorkers) {
-            System.out.println("The village is already at full capacity.");
+        Settle();
+        if (workers.size() >= resources.getMaxWorkers()) {
+            events.VillageFull();
             return false;
         }
 
-        if (occupationHashMap.containsKey(occupation)) {
-            IOccupationAction jobInterface = occupationHashMap.get(occupation);
-            Worker worker = new Worker(name, occupation, jobInterface);
-            workers.add(worker);
-            System.out.println(name + " was successfully added.");
+        Occupation type = Occupation.Parse(occupation);
+        if (type != null) {
+            Counts().Added(type);
+            workers.add(name, type);
+            if (changes != null) {
+                changes.MarkWorker(workers.size() - 1);
+            }
+            events.WorkerAdded(name, occupation);
             return true;
         }
 
-        System.out.println("There is no such job.");
+        events.UnknownOccupation(occupation);
         return false;
     }
 
+    /**
+     * Admits a whole batch of workers at once. The batch is checked against
+     * the room left in the village up front, the worker store is grown once,
+     * and a single event reports the outcome instead of one per worker.
+     * Workers with an unknown occupation are skipped; of the rest, workers
+     * are admitted in batch order until the village is full.
+     */
+    public AdmissionResult addWorkers(WorkerBatch batch) {
+        Settle();
+        Occupation[] types = new Occupation[batch.size()];
+        int known = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            types[i] = Occupation.Parse(batch.getOccupation(i));
+            if (types[i] != null) {
+                known++;
+            }
+        }
+        int first = workers.size();
+        int accepted = (int) Math.max(0, Math.min(known, resources.getMaxWorkers() - first));
+        WorkerCounts counts = Counts();
+        workers.ensureCapacity(first + accepted);
+        for (int i = 0, added = 0; added < accepted; i++) {
+            if (types[i] != null) {
+                workers.add(batch.getName(i), types[i]);
+                counts.Added(types[i]);
+                added++;
+            }
+        }
+        if (changes != null) {
+            for (int i = first; i < first + accepted; i++) {
+                changes.MarkWorker(i);
+            }
+        }
+        AdmissionResult result = new AdmissionResult(accepted, known - accepted, batch.size() - known);
+        events.WorkersAdmitted(result.getAccepted(), result.getRejected());
+        return result;
+    }
+
 
 
 /*
@@ -153,151 +846,355 @@ public class Village {
 
 
     public boolean addProject(String name) {
-        if (possibleProjects.containsKey(name)) {
-            PossibleProject possibleProject = possibleProjects.get(name);
+        PossibleProject possibleProject = catalog.get(name);
+        if (possibleProject != null) {
             /*if (getWood() > possibleProject.getWoodCost() &&
                     getMetal() > possibleProject.getMetalCost()) {*/
-            if (getWood() >= possibleProject.getWoodCost() &&
-                    getMetal() >= possibleProject.getMetalCost()) {
-                wood -= possibleProject.getWoodCost();
-                metal -= possibleProject.getMetalCost();
+            if (resources.Spend(possibleProject.getWoodCost(), possibleProject.getMetalCost())) {
 
-                Project newProject = possibleProject.GetProject();
+                Project newProject = possibleProject.GetProject(() -> Complete(possibleProject));
                 projects.add(newProject);
-                System.out.println(newProject.getName() + " added to the project queue!");
+                Changed(ChangeTracker.WOOD | ChangeTracker.METAL);
+                MarkProjects();
+                events.ProjectAdded(newProject.getName());
                 return true;
             }
-            System.out.println("Not enough material!");
+            events.NotEnoughMaterial(name);
             return false;
         }
-        System.out.println("That was not one of the options.");
+        events.UnknownProject(name);
         return false;
     }
 
     public void AddFood(String name) {
-        food += foodPerDay;
-        System.out.println(name + " gathers " + foodPerDay + " food!");
+        resources.AddFood(resources.getFoodPerDay());
+        Changed(ChangeTracker.FOOD);
+        if (metrics != null) {
+            metrics.Gathered(resources.getFoodPerDay(), 0, 0);
+        }
+        events.ResourceGathered(name, getFoodPerDay(), "food");
     }
     public void AddMetal(String name) {
-        metal += metalPerDay;
-        System.out.println(name + " gathers " + metalPerDay + " metal!");
+        resources.AddMetal(resources.getMetalPerDay());
+        Changed(ChangeTracker.METAL);
+        if (metrics != null) {
+            metrics.Gathered(0, 0, resources.getMetalPerDay());
+        }
+        events.ResourceGathered(name, getMetalPerDay(), "metal");
     }
     public void AddWood(String name) {
-        wood += woodPerDay;
-        System.out.println(name + " gathers " + woodPerDay + " wood!");
+        resources.AddWood(resources.getWoodPerDay());
+        Changed(ChangeTracker.WOOD);
+        if (metrics != null) {
+            metrics.Gathered(0, resources.getWoodPerDay(), 0);
+        }
+        events.ResourceGathered(name, getWoodPerDay(), "wood");
     }
     public void Build(String name) {
+        if (working && builderPolicy != BuilderPolicy.SINGLE_HEAD) {
+            if (projects.isEmpty()) {
+                events.NothingToBuild(name);
+            }
+            else {
+                crewEffort++;
+            }
+            return;
+        }
         if (projects.size() > 0) {
             Project currentProject = projects.get(0);
-            System.out.println(name + " builds on " + currentProject.getName() + "!");
-            boolean complete = currentProject.BuildOn();
-            if (complete) {
-                projects.remove(currentProject);
-                buildings.add(new Building(currentProject.getName()));
-                System.out.println(currentProject.getName() + " was completed!");
-                currentProject.Complete();
-            }
+            events.ProjectProgressed(name, currentProject.getName());
+            BuildOnce();
         }
         else {
-            System.out.println("No buildings for " + name + " to work on!");
+            events.NothingToBuild(name);
+        }
+    }
+
+    private void BuildOnce() {
+        if (projects.isEmpty()) {
+            return;
+        }
+        Project currentProject = projects.get(0);
+        boolean complete = currentProject.BuildOn();
+        MarkProjects();
+        if (complete) {
+            CompleteHead();
+        }
+    }
+
+    private void CompleteHead() {
+        Project currentProject = projects.removeFirst();
+        buildings.add(currentProject.getName());
+        events.ProjectCompleted(currentProject.getName());
+        CompleteProject(currentProject);
+    }
+
+    private void CompleteProject(Project project) {
+        if (metrics == null) {
+            project.Complete();
+            return;
         }
+        long start = System.nanoTime();
+        project.Complete();
+        metrics.Completed(System.nanoTime() - start);
     }
 
     private void FeedWorkers() {
-        for (Worker worker: workers) {
-            if (food > 0 && worker.isAlive()) {
-                worker.Feed();
-                System.out.print(worker.getName() + " eats. ");
+        long food = resources.getFood();
+        for (int i = 0; i < workers.size(); i++) {
+            if (food > 0 && workers.isAlive(i)) {
+                if (changes != null) {
+                    TrackFeeding(i, true);
+                }
+                if (workers.getDaysHungry(i) > 0) {
+                    counts.Fed();
+                }
+                workers.Feed(i);
+                events.WorkerFed(workers.getName(i));
                 food--;
             }
             else {
-                if (worker.isAlive()) {
-                    System.out.println("No food left for " + worker.getName() + "! " + worker.getDaysHungry() + " days without food! ");
+                if (workers.isAlive(i)) {
+                    if (changes != null) {
+                        TrackFeeding(i, false);
+                    }
+                    events.WorkerHungry(workers.getName(i), workers.getDaysHungry(i));
                 }
                 else {
-                    System.out.println(worker.getName() + " is dead...");
+                    events.DeadWorkerSkipped(workers.getName(i));
                 }
             }
         }
-        System.out.println();
+        resources.setFood(food);
+        events.FeedingDone();
     }
 
-    private void NewHouse() {
-        maxWorkers += 2;
-    }
-    private void NewFarm() {
-        foodPerDay += 5;
-    }
-    private void NewQuarry() {
-        metalPerDay++;
+    /**
+     * Starts a project of a catalog building without paying for it, as when a
+     * saved village is loaded. Returns null if the catalog has no such building.
+     */
+    public Project NewProject(String name) {
+        PossibleProject possibleProject = catalog.get(name);
+        return possibleProject == null ? null : possibleProject.GetProject(() -> Complete(possibleProject));
     }
-    private void NewWoodmill() {
-        woodPerDay++;
-    }
-    private void NewCastle() {
-        System.out.println("Castle complete! It took " + daysGone + " days!");
-        GameOver();
+
+    private void Complete(PossibleProject possibleProject) {
+        for (BuildingEffect effect : possibleProject.getEffects()) {
+            long amount = effect.getAmount();
+            switch (effect.getTarget()) {
+                case MAX_WORKERS -> {
+                    resources.setMaxWorkers(ResourceLedger.Add(resources.getMaxWorkers(), amount));
+                    Changed(ChangeTracker.MAX_WORKERS);
+                }
+                case FOOD_PER_DAY -> {
+                    resources.setFoodPerDay(ResourceLedger.Add(resources.getFoodPerDay(), amount));
+                    Changed(ChangeTracker.FOOD_PER_DAY);
+                }
+                case WOOD_PER_DAY -> {
+                    resources.setWoodPerDay(ResourceLedger.Add(resources.getWoodPerDay(), amount));
+                    Changed(ChangeTracker.WOOD_PER_DAY);
+                }
+                case METAL_PER_DAY -> {
+                    resources.setMetalPerDay(ResourceLedger.Add(resources.getMetalPerDay(), amount));
+                    Changed(ChangeTracker.METAL_PER_DAY);
+                }
+                case GAME_OVER -> {
+                    events.CastleCompleted(daysGone);
+                    GameOver();
+                }
+            }
+        }
     }
 
+    /**
+     * The resources as 64-bit counts. The int getters below clamp them to the
+     * int range. Changes made straight to the ledger are not seen by a
+     * {@link ChangeTracker}.
+     */
+    public ResourceLedger getResources() {
+        return resources;
+    }
     public int getFood() {
-        return food;
+        return ResourceLedger.ToInt(resources.getFood());
     }
     public void setFood(int food) {
-        this.food = food;
+        resources.setFood(food);
+        Changed(ChangeTracker.FOOD);
     }
     public int getWood() {
-        return wood;
+        return ResourceLedger.ToInt(resources.getWood());
     }
     public void setWood(int wood) {
-        this.wood = wood;
+        resources.setWood(wood);
+        Changed(ChangeTracker.WOOD);
     }
     public int getMetal() {
-        return metal;
+        return ResourceLedger.ToInt(resources.getMetal());
     }
     public void setMetal(int metal) {
-        this.metal = metal;
+        resources.setMetal(metal);
+        Changed(ChangeTracker.METAL);
     }
-    public ArrayList<Worker> getWorkers() {
-        return workers;
+    public List<Worker> getWorkers() {
+        Settle();
+        counts = null;
+        return workers.asList();
     }
     public void setWorkers(ArrayList<Worker> workers) {
-        this.workers = workers;
+        Settle();
+        counts = null;
+        this.workers = new WorkerList(workers);
+        this.workers.setChangeTracker(changes);
+        MarkRebase();
+    }
+    public IWorkerStore getWorkerStore() {
+        Settle();
+        counts = null;
+        return workers;
+    }
+    /**
+     * The workers, for reading only, as when the village is saved. Unlike
+     * {@link #getWorkerStore()}, the worker counts stay valid, so whoever
+     * calls this must not change them.
+     */
+    public IWorkerStore getSettledWorkers() {
+        Settle();
+        return workers;
+    }
+    /**
+     * Number of workers, dead ones included.
+     */
+    public int getWorkerCount() {
+        return workers.size();
+    }
+    /**
+     * Number of living workers. Kept up to date as the workers are fed and starve,
+     * so this does not walk the workers unless they were handed out since the last count.
+     */
+    public int getAliveCount() {
+        return Counts().getAlive();
+    }
+    /**
+     * Number of living workers who have been hungry for a day or more.
+     */
+    public int getHungryCount() {
+        return Counts().getHungry();
+    }
+    /**
+     * Number of living workers with the given occupation.
+     */
+    public int getOccupationCount(Occupation occupation) {
+        return Counts().getOccupation(occupation);
+    }
+    /**
+     * The buildings in the order they were finished, as a view of the
+     * {@link #getBuildingInventory() inventory}. Buildings added to the list
+     * or a cleared list change the village, and are saved like any other change.
+     */
+    public List<Building> getBuildings() {
+        return buildings.asList();
+    }
+    public void setBuildings(List<Building> buildings) {
+        // The names are taken first, since the list may be a view of this village's own buildings.
+        String[] names = buildings.stream().map(Building::getName).toArray(String[]::new);
+        this.buildings.clear();
+        for (String name : names) {
+            this.buildings.add(name);
+        }
     }
-    public ArrayList<Building> getBuildings() {
+    public BuildingInventory getBuildingInventory() {
         return buildings;
     }
-    public void setBuildings(ArrayList<Building> buildings) {
-        this.buildings = buildings;
+    /**
+     * Number of buildings of type {@code name}.
+     */
+    public int getBuildingCount(String name) {
+        return buildings.count(name);
     }
-    public ArrayList<Project> getProjects() {
+    public List<Project> getProjects() {
+        return projects;
+    }
+    /**
+     * The projects as a queue, for pushing a project to the front or reordering them.
+     */
+    public ProjectQueue getProjectQueue() {
         return projects;
     }
     public void setProjects(ArrayList<Project> projects) {
-        this.projects = projects;
+        this.projects = new ProjectQueue(projects);
+        this.projects.setChangeTracker(changes);
+        MarkProjects();
     }
     public int getMetalPerDay() {
-        return metalPerDay;
+        return ResourceLedger.ToInt(resources.getMetalPerDay());
     }
     public void setMetalPerDay(int metalPerDay) {
-        this.metalPerDay = metalPerDay;
+        resources.setMetalPerDay(metalPerDay);
+        Changed(ChangeTracker.METAL_PER_DAY);
     }
     public int getWoodPerDay() {
-        return woodPerDay;
+        return ResourceLedger.ToInt(resources.getWoodPerDay());
     }
     public void setWoodPerDay(int woodPerDay) {
-        this.woodPerDay = woodPerDay;
+        resources.setWoodPerDay(woodPerDay);
+        Changed(ChangeTracker.WOOD_PER_DAY);
     }
     public int getFoodPerDay() {
-        return foodPerDay;
+        return ResourceLedger.ToInt(resources.getFoodPerDay());
     }
     public void setFoodPerDay(int foodPerDay) {
-        this.foodPerDay = foodPerDay;
+        resources.setFoodPerDay(foodPerDay);
+        Changed(ChangeTracker.FOOD_PER_DAY);
     }
     public int getDaysGone() {
         return daysGone;
     }
     public void setDaysGone(int daysGone) {
+        Settle();
         this.daysGone = daysGone;
+        Changed(ChangeTracker.DAYS_GONE);
+    }
+
+    public boolean isAggregateDay() {
+        return aggregateDay;
+    }
+
+    public void setAggregateDay(boolean aggregateDay) {
+        this.aggregateDay = aggregateDay;
+        Changed(ChangeTracker.AGGREGATE_DAY);
+    }
+
+    public BuilderPolicy getBuilderPolicy() {
+        return builderPolicy;
+    }
+    public void setBuilderPolicy(BuilderPolicy builderPolicy) {
+        this.builderPolicy = builderPolicy;
+    }
+    /**
+     * The pool that parallel days and builder crews run on.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        this.builderCrews = new BuilderCrews(pool);
+    }
+
+    public boolean isParallelDay() {
+        return parallelDay;
+    }
+    /**
+     * Runs days quietly with the workers split over the pool, see {@link #setPool(ForkJoinPool)}.
+     * Villages that cannot be split, such as small ones, run an aggregate day instead.
+     */
+    public void setParallelDay(boolean parallelDay) {
+        this.parallelDay = parallelDay;
+    }
+
+    public IVillageEventListener getEventListener() {
+        return events;
+    }
+
+    public void setEventListener(IVillageEventListener events) {
+        this.events = events;
     }
 
     public boolean isGameOver() {
@@ -306,26 +1203,56 @@ public class Village {
 
     public void setGameOver(boolean gameOver) {
         this.gameOver = gameOver;
+        Changed(ChangeTracker.GAME_OVER);
     }
 
+    /**
+     * The work of each occupation as an action by occupation name. The map is
+     * built on each call; changing it does not change the village.
+     *
+     * @deprecated Occupations are an {@link Occupation} now and the village
+     * dispatches on them directly.
+     */
+    @Deprecated
     public HashMap<String, IOccupationAction> getOccupationHashMap() {
-        return occupationHashMap;
+        HashMap<String, IOccupationAction> actions = new HashMap<>();
+        for (Occupation occupation : Occupation.values()) {
+            actions.put(occupation.getName(), name -> Work(occupation, name));
+        }
+        return actions;
+    }
+
+    /**
+     * The buildings this village can start, from its catalog. The map cannot be changed.
+     */
+    public Map<String, PossibleProject> getPossibleProjects() {
+        return catalog.getProjects();
+    }
+    public BuildingCatalog getCatalog() {
+        return catalog;
+    }
+
+    public int getDaysUntilStarvation() {
+        return daysUntilStarvation;
     }
 
-    public HashMap<String, PossibleProject> getPossibleProjects() {
-        return possibleProjects;
+    public void setDaysUntilStarvation(int daysUntilStarvation) {
+        Settle();
+        this.daysUntilStarvation = daysUntilStarvation;
+        Changed(ChangeTracker.DAYS_UNTIL_STARVATION);
     }
 
     public int getMaxWorkers() {
 
-        return maxWorkers;
+        return ResourceLedger.ToInt(resources.getMaxWorkers());
     }
 
     public void setMaxWorkers(int maxWorkers) {
-        this.maxWorkers = maxWorkers;
+        resources.setMaxWorkers(maxWorkers);
+        Changed(ChangeTracker.MAX_WORKERS);
     }
 
     public boolean isFull() {
-        return maxWorkers <= workers.size();
+        return resources.getMaxWorkers() <= workers.size();
     }
 }
@@ -1,18 +1,39 @@
 package org.example;
 
+import org.example.events.NoOpEventSink;
 import org.example.interfaces.IAction;
+import org.example.interfaces.IVillageEventListener;
 import org.example.objects.PossibleProject;
+import org.example.storage.CommandJournal;
+import org.example.storage.FileDatabaseConnection;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Scanner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class VillageInput {
-    DatabaseConnection databaseConnection = new DatabaseConnection();
+    DatabaseConnection databaseConnection = new FileDatabaseConnection();
     Village village = new Village();
     Scanner scanner = new Scanner(System.in);
     private final HashMap<String, IAction> actions = new HashMap<>();
     ArrayList<String> options = new ArrayList<>();
+    CommandJournal journal;
+    // "3 x 100000": a menu choice and how many times to take it.
+    private static final Pattern REPEAT = Pattern.compile("\\s*(\\S+)\\s+[xX]\\s+(\\d+)\\s*");
+    private BufferedReader script;
+    private int statusInterval;
+    private boolean statusShown;
+    private final VillageReport report = new VillageReport();
 
 
     public VillageInput(Village village, DatabaseConnection databaseConnection) {
@@ -20,13 +41,22 @@ public class VillageInput {
         this.village = village;
         this.databaseConnection = databaseConnection;
     }
+    /**
+     * Records every command that changes the village in {@code journal}, so the village can be replayed from it.
+     * The village is checkpointed first, so a replay starts from the state it has now.
+     */
+    public VillageInput(Village village, DatabaseConnection databaseConnection, CommandJournal journal) {
+        this(village, databaseConnection);
+        this.journal = journal;
+        journal.Checkpoint(village);
+    }
     public VillageInput() {
         actions.put("1", () -> AddWorker());
         actions.put("2", () -> AddProject());
-        actions.put("3", () -> village.Day());
+        actions.put("3", () -> Day());
         actions.put("4", () -> Load());
         actions.put("5", () -> Save());
-        actions.put("6", () -> village.GameOver());
+        actions.put("6", () -> Quit());
 
         options.add("1: Add Worker.");
         options.add("2: Add Project.");
@@ -52,7 +82,7 @@ public class VillageInput {
                     System.out.println(option);
                 }
 
-                String choice = scanner.nextLine();
+                String choice = ReadLine();
                 if (actions.containsKey(choice)) {
                     actions.get(choice).Action();
                     break;
@@ -61,47 +91,197 @@ public class VillageInput {
             }
         }
     }
+    /**
+     * Runs the village from a script instead of the keyboard; see {@link #RunScript(BufferedReader, int)}.
+     */
+    public void RunScript(Path path, int statusInterval) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            RunScript(reader, statusInterval);
+        }
+    }
+    public void RunScript(InputStream in, int statusInterval) throws IOException {
+        RunScript(new BufferedReader(Channels.newReader(Channels.newChannel(in), StandardCharsets.UTF_8)), statusInterval);
+    }
+
+    /**
+     * Runs the village without anyone at the keyboard. The script holds the
+     * same lines a player would type: a menu choice per line, followed by the
+     * answers that choice asks for. A line such as {@code 3 x 100000} takes a
+     * choice that many times; a choice that asks questions reads its answers
+     * anew each time.
+     *
+     * The menu, the prompts and the narration of the days are not printed.
+     * A {@link VillageReport#Summary(Village) summary} of the village is printed every {@code statusInterval} days,
+     * if that is above 0, and when the script ends, which it does at its last
+     * line or when the game is over, unless the last day just printed it.
+     */
+    public void RunScript(BufferedReader script, int statusInterval) throws IOException {
+        this.script = script;
+        this.statusInterval = statusInterval;
+        IVillageEventListener events = village.getEventListener();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        try {
+            String line;
+            while (!village.isGameOver() && (line = script.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String choice = line.strip();
+                long times = 1;
+                Matcher repeat = REPEAT.matcher(line);
+                if (repeat.matches()) {
+                    choice = repeat.group(1);
+                    try {
+                        times = Long.parseLong(repeat.group(2));
+                    }
+                    catch (NumberFormatException e) {
+                        choice = null;
+                    }
+                }
+                IAction action = choice == null ? null : actions.get(choice);
+                if (action == null) {
+                    System.out.println("That's not an option: " + line);
+                    continue;
+                }
+                for (long i = 0; i < times && !village.isGameOver(); i++) {
+                    statusShown = false;
+                    action.Action();
+                }
+            }
+            if (!statusShown) {
+                Status();
+            }
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        finally {
+            this.script = null;
+            // The village may have been loaded by the script; it narrates to the listener the player had.
+            village.setEventListener(events);
+        }
+    }
+
+    private void Status() {
+        report.Summary(village);
+        statusShown = true;
+    }
+
+    /**
+     * The next answer, from the script if one is running and otherwise from the
+     * keyboard. A script that has run out gives empty answers.
+     */
+    private String ReadLine() {
+        if (script == null) {
+            return scanner.nextLine();
+        }
+        try {
+            String line = script.readLine();
+            return line == null ? "" : line;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Passes over the {@code count} answers a script holds for a question that
+     * was not asked, so its next line is read as the next choice again. A
+     * player at the keyboard is simply not asked.
+     */
+    private void SkipAnswers(int count) {
+        if (script == null) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            ReadLine();
+        }
+    }
+
+    /**
+     * Prints text meant for a player at the keyboard, which a script does not need.
+     */
+    private void Prompt(String text) {
+        if (script == null) {
+            System.out.println(text);
+        }
+    }
+
+    private void PrintTownNames(ArrayList<String> villages) {
+        if (script != null) {
+            return;
+        }
+        for (String villageName: villages) {
+            System.out.print(villageName + " ");
+        }
+        System.out.println();
+    }
+
     private void AddWorker() {
         if ( village.isFull()) {
             System.out.println("There is nowhere for the new worker to live! Make more houses!");
+            SkipAnswers(2);
             return;
         }
 
-        System.out.println("What will be the worker's name?");
-        String name = scanner.nextLine();
+        Prompt("What will be the worker's name?");
+        String name = ReadLine();
         if (name.isEmpty()) {
             System.out.println("Please do write a name.");
+            SkipAnswers(1);
             return;
         }
-        System.out.println("What's their job? The options are Farmer, Lumberjack, Miner or Builder.");
-        String occupation = scanner.nextLine().toLowerCase();
+        Prompt("What's their job? The options are Farmer, Lumberjack, Miner or Builder.");
+        String occupation = ReadLine().toLowerCase();
         village.addWorker(name, occupation);
-        System.out.println();
+        if (journal != null) {
+            journal.AddWorker(name, occupation);
+            journal.CheckpointIfDue(village);
+        }
+        Prompt("");
     }
     private void AddProject() {
-        System.out.println("Which project? Possible choices are: ");
-        for (PossibleProject possibleProject : village.getPossibleProjects().values()) {
-            System.out.println(possibleProject.getName() + ": " + possibleProject.getWoodCost() + " wood, " + possibleProject.getMetalCost() + " metal");
+        if (script == null) {
+            System.out.println("Which project? Possible choices are: ");
+            for (PossibleProject possibleProject : village.getPossibleProjects().values()) {
+                System.out.println(possibleProject.getName() + ": " + possibleProject.getWoodCost() + " wood, " + possibleProject.getMetalCost() + " metal");
+            }
         }
-        String name = scanner.nextLine();
+        String name = ReadLine();
         village.addProject(name);
-        System.out.println();
+        if (journal != null) {
+            journal.AddProject(name);
+            journal.CheckpointIfDue(village);
+        }
+        Prompt("");
+    }
+    private void Day() {
+        village.Day();
+        if (journal != null) {
+            journal.Day();
+            journal.CheckpointIfDue(village);
+        }
+        if (script != null && statusInterval > 0 && village.getDaysGone() % statusInterval == 0 && !village.isGameOver()) {
+            Status();
+        }
+    }
+    private void Quit() {
+        village.GameOver();
+        if (journal != null) {
+            journal.GameOver();
+        }
     }
 
     public void Save() {
-        System.out.println("What name do you wish to save the village under? Current villages are: ");
+        Prompt("What name do you wish to save the village under? Current villages are: ");
         ArrayList<String> villages = databaseConnection.GetTownNames();
+        PrintTownNames(villages);
 
-        for (String villageName: villages) {
-            System.out.print(villageName + " ");
-        }
-        System.out.println();
-
-        String choice = scanner.nextLine();
+        String choice = ReadLine();
 
         if (villages.contains(choice)) {
-            System.out.println("Are you sure you want to overwrite " + choice + "? Write \"y\" for yes. Anything else for no.");
-            String yes = scanner.nextLine().toLowerCase();
+            Prompt("Are you sure you want to overwrite " + choice + "? Write \"y\" for yes. Anything else for no.");
+            String yes = ReadLine().toLowerCase();
             if (!yes.equals("y")) {
                 System.out.println("Cancelling load.");
                 return;
@@ -119,15 +299,11 @@ public class VillageInput {
     }
 
     public void Load() {
-        System.out.println("Which village would you like to load? The choices are: ");
+        Prompt("Which village would you like to load? The choices are: ");
         ArrayList<String> villages = databaseConnection.GetTownNames();
+        PrintTownNames(villages);
 
-        for (String villageName: villages) {
-            System.out.print(villageName + " ");
-        }
-        System.out.println();
-
-        String choice = scanner.nextLine();
+        String choice = ReadLine();
 
         if (!villages.contains(choice)) {
             System.out.println("That's not one of the choices.");
@@ -138,6 +314,12 @@ public class VillageInput {
         if (loadedVillage != null) {
             System.out.println("Village " + choice + " successfully loaded.");
             village = loadedVillage;
+            if (script != null) {
+                village.setEventListener(NoOpEventSink.INSTANCE);
+            }
+            if (journal != null) {
+                journal.Checkpoint(village);
+            }
         }
         else {
             System.out.println("Load failed.");
@@ -0,0 +1,161 @@
+package org.example;
+
+import org.example.interfaces.IWorkerStore;
+import org.example.objects.BuildingInventory;
+import org.example.objects.Occupation;
+import org.example.objects.Project;
+import org.example.objects.ResourceLedger;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Renders the state of a village as text. A report is built in one buffer,
+ * which is kept for the next report, and written to the stream in one call.
+ *
+ * {@link #Full(Village)} is the text {@link Village#PrintInfo()} has always
+ * printed, with a line per worker. {@link #Summary(Village)} reads the
+ * village's worker counts instead, so its length and cost do not grow with
+ * the number of workers, and {@link #Page(Village, int, int)} lists one page
+ * of workers at a time.
+ */
+public class VillageReport {
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final PrintStream out;
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * Writes to whatever {@code System.out} is at the time of each report.
+     */
+    public VillageReport() {
+        this(null);
+    }
+    public VillageReport(PrintStream out) {
+        this.out = out;
+    }
+
+    public void Full(Village village) {
+        IWorkerStore workers = village.getSettledWorkers();
+        if (workers.size() > 0) {
+            text.append("You have ").append(workers.size()).append(" workers. They are: ").append(NEWLINE);
+            for (int i = 0; i < workers.size(); i++) {
+                AppendWorker(workers, i, false);
+            }
+        }
+        else {
+            text.append("You have no workers.").append(NEWLINE);
+        }
+        text.append("Your current buildings are: ").append(NEWLINE);
+        BuildingInventory buildings = village.getBuildingInventory();
+        for (int run = 0; run < buildings.getRunCount(); run++) {
+            for (int i = 0; i < buildings.getRunLength(run); i++) {
+                text.append(buildings.getRunName(run)).append(' ');
+            }
+        }
+        text.append(NEWLINE);
+        ResourceLedger resources = village.getResources();
+        text.append("You can have ").append(resources.getMaxWorkers()).append(" workers.").append(NEWLINE);
+        text.append("Your current projects are: ").append(NEWLINE);
+        for (Project project : village.getProjects()) {
+            text.append(project.getName()).append(", ").append(project.getDaysLeft()).append(" points left until completion.");
+        }
+        text.append(NEWLINE);
+        text.append("Current Food:  ").append(resources.getFood()).append(NEWLINE);
+        text.append("Current Wood:  ").append(resources.getWood()).append(NEWLINE);
+        text.append("Current Metal: ").append(resources.getMetal()).append(NEWLINE);
+        text.append("Generating ").append(resources.getFoodPerDay()).append(" food per day per worker.").append(NEWLINE);
+        text.append("Generating ").append(resources.getWoodPerDay()).append(" wood per day per worker.").append(NEWLINE);
+        text.append("Generating ").append(resources.getMetalPerDay()).append(" metal per day per worker.").append(NEWLINE);
+        Write();
+    }
+
+    /**
+     * Workers by occupation, hunger and deaths, buildings by type, the project
+     * queue by its length and head, and the resources.
+     */
+    public void Summary(Village village) {
+        ResourceLedger resources = village.getResources();
+        int total = village.getWorkerCount();
+        int alive = village.getAliveCount();
+        text.append("Day ").append(village.getDaysGone()).append(NEWLINE);
+        text.append("Workers: ").append(total).append(" of ").append(resources.getMaxWorkers())
+                .append(" (").append(alive).append(" alive, ").append(village.getHungryCount()).append(" hungry, ")
+                .append(total - alive).append(" dead)").append(NEWLINE);
+        for (Occupation occupation : Occupation.values()) {
+            text.append("  ").append(occupation.getName()).append(": ").append(village.getOccupationCount(occupation)).append(NEWLINE);
+        }
+        text.append("Buildings: ");
+        BuildingInventory buildings = village.getBuildingInventory();
+        if (buildings.size() == 0) {
+            text.append("none");
+        }
+        else {
+            boolean[] first = {true};
+            buildings.ForEachType((name, count) -> {
+                if (!first[0]) {
+                    text.append(", ");
+                }
+                first[0] = false;
+                text.append(name).append(" x").append(count);
+            });
+        }
+        text.append(NEWLINE);
+        List<Project> projects = village.getProjects();
+        text.append("Projects: ").append(projects.size());
+        if (!projects.isEmpty()) {
+            Project next = projects.get(0);
+            text.append(" (next: ").append(next.getName()).append(", ").append(next.getDaysLeft()).append(" points left)");
+        }
+        text.append(NEWLINE);
+        text.append("Food: ").append(resources.getFood()).append("  Wood: ").append(resources.getWood())
+                .append("  Metal: ").append(resources.getMetal()).append(NEWLINE);
+        text.append("Generating ").append(resources.getFoodPerDay()).append(" food, ").append(resources.getWoodPerDay())
+                .append(" wood, ").append(resources.getMetalPerDay()).append(" metal per day per worker.").append(NEWLINE);
+        Write();
+    }
+
+    /**
+     * Lists page {@code page}, counted from 0, of {@code pageSize} workers each, dead ones included.
+     */
+    public void Page(Village village, int page, int pageSize) {
+        if (page < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("A page needs a page number of 0 or more and a size above 0.");
+        }
+        IWorkerStore workers = village.getSettledWorkers();
+        int from = (int) Math.min((long) page * pageSize, workers.size());
+        int to = Math.min(from + pageSize, workers.size());
+        if (from == to) {
+            text.append("No workers on page ").append(page + 1).append('.').append(NEWLINE);
+        }
+        else {
+            text.append("Workers ").append(from + 1).append('-').append(to).append(" of ").append(workers.size()).append(':').append(NEWLINE);
+            for (int i = from; i < to; i++) {
+                AppendWorker(workers, i, true);
+            }
+        }
+        Write();
+    }
+
+    /**
+     * A worker's line and, if it is hungry, its hunger. With {@code showDead} a
+     * dead worker is marked as such instead, where the full report has never
+     * told dead workers apart.
+     */
+    private void AppendWorker(IWorkerStore workers, int i, boolean showDead) {
+        text.append(workers.getName(i)).append(", ").append(workers.getOccupation(i));
+        if (showDead && !workers.isAlive(i)) {
+            text.append(", dead.").append(NEWLINE);
+            return;
+        }
+        text.append('.').append(NEWLINE);
+        if (workers.isHungry(i) && workers.getDaysHungry(i) > 0) {
+            text.append(workers.getName(i)).append(" has been hungry for ").append(workers.getDaysHungry(i)).append(" days!").append(NEWLINE);
+        }
+    }
+
+    private void Write() {
+        (out != null ? out : System.out).print(text);
+        text.setLength(0);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.events;
+
+import java.io.PrintStream;
+
+/**
+ * Writes the same text as {@link ConsoleEventSink}, but collects it in a
+ * buffer and writes it to the stream in batches. Call {@link #Flush()} when
+ * the output should be seen, for example after each day.
+ */
+public class BufferedEventSink extends ConsoleEventSink {
+    private final int capacity;
+
+    public BufferedEventSink() {
+        this(null, 64 * 1024);
+    }
+    public BufferedEventSink(PrintStream out, int capacity) {
+        super(out);
+        this.capacity = capacity;
+    }
+
+    @Override
+    protected void Emit() {
+        if (text.length() >= capacity) {
+            Flush();
+        }
+    }
+
+    public void Flush() {
+        if (text.length() > 0) {
+            stream().print(text);
+            text.setLength(0);
+        }
+    }
+}
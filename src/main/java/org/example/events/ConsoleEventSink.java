@@ -0,0 +1,134 @@
+package org.example.events;
+
+import org.example.interfaces.IVillageEventListener;
+
+import java.io.PrintStream;
+
+/**
+ * Writes every event as the same text the village has always printed.
+ * Each event is written to the stream as soon as it happens.
+ */
+public class ConsoleEventSink implements IVillageEventListener {
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final PrintStream out;
+    protected final StringBuilder text = new StringBuilder();
+
+    /**
+     * Writes to whatever {@code System.out} is at the time of each event.
+     */
+    public ConsoleEventSink() {
+        this(null);
+    }
+    public ConsoleEventSink(PrintStream out) {
+        this.out = out;
+    }
+
+    protected PrintStream stream() {
+        return out != null ? out : System.out;
+    }
+
+    /**
+     * Called after an event has been appended to {@link #text}.
+     */
+    protected void Emit() {
+        stream().print(text);
+        text.setLength(0);
+    }
+
+    @Override
+    public void ResourceGathered(String name, int amount, String resource) {
+        text.append(name).append(" gathers ").append(amount).append(' ').append(resource).append('!').append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void WorkerFed(String name) {
+        text.append(name).append(" eats. ");
+        Emit();
+    }
+    @Override
+    public void WorkerHungry(String name, int daysHungry) {
+        text.append("No food left for ").append(name).append("! ").append(daysHungry).append(" days without food! ").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void DeadWorkerSkipped(String name) {
+        text.append(name).append(" is dead...").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void FeedingDone() {
+        text.append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void WorkerStarved(String name) {
+        text.append(name).append(" has died of hunger!").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void DeadWorkerIdle(String name) {
+        text.append(name).append(" is not alive and cannot work...").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void ProjectProgressed(String name, String project) {
+        text.append(name).append(" builds on ").append(project).append('!').append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void NothingToBuild(String name) {
+        text.append("No buildings for ").append(name).append(" to work on!").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void ProjectCompleted(String project) {
+        text.append(project).append(" was completed!").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void CastleCompleted(int daysGone) {
+        text.append("Castle complete! It took ").append(daysGone).append(" days!").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void EveryoneDied(int daysGone) {
+        text.append("Everyone is dead! You lasted ").append(daysGone).append(" days!").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void WorkerAdded(String name, String occupation) {
+        text.append(name).append(" was successfully added.").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void VillageFull() {
+        text.append("The village is already at full capacity.").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void UnknownOccupation(String occupation) {
+        text.append("There is no such job.").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void WorkersAdmitted(int accepted, int rejected) {
+        text.append(accepted).append(" workers were added, ").append(rejected).append(" were turned away.").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void ProjectAdded(String project) {
+        text.append(project).append(" added to the project queue!").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void NotEnoughMaterial(String project) {
+        text.append("Not enough material!").append(NEWLINE);
+        Emit();
+    }
+    @Override
+    public void UnknownProject(String project) {
+        text.append("That was not one of the options.").append(NEWLINE);
+        Emit();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.events;
+
+import org.example.interfaces.IVillageEventListener;
+
+/**
+ * Ignores every event. Used for headless runs where nobody reads the narration.
+ */
+public class NoOpEventSink implements IVillageEventListener {
+    public static final NoOpEventSink INSTANCE = new NoOpEventSink();
+
+    @Override
+    public void ResourceGathered(String name, int amount, String resource) {
+    }
+    @Override
+    public void WorkerFed(String name) {
+    }
+    @Override
+    public void WorkerHungry(String name, int daysHungry) {
+    }
+    @Override
+    public void DeadWorkerSkipped(String name) {
+    }
+    @Override
+    public void FeedingDone() {
+    }
+    @Override
+    public void WorkerStarved(String name) {
+    }
+    @Override
+    public void DeadWorkerIdle(String name) {
+    }
+    @Override
+    public void ProjectProgressed(String name, String project) {
+    }
+    @Override
+    public void NothingToBuild(String name) {
+    }
+    @Override
+    public void ProjectCompleted(String project) {
+    }
+    @Override
+    public void CastleCompleted(int daysGone) {
+    }
+    @Override
+    public void EveryoneDied(int daysGone) {
+    }
+    @Override
+    public void WorkerAdded(String name, String occupation) {
+    }
+    @Override
+    public void VillageFull() {
+    }
+    @Override
+    public void UnknownOccupation(String occupation) {
+    }
+    @Override
+    public void WorkersAdmitted(int accepted, int rejected) {
+    }
+    @Override
+    public void ProjectAdded(String project) {
+    }
+    @Override
+    public void NotEnoughMaterial(String project) {
+    }
+    @Override
+    public void UnknownProject(String project) {
+    }
+}
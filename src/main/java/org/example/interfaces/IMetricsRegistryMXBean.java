@@ -0,0 +1,16 @@
+package org.example.interfaces;
+
+import java.util.Map;
+
+/**
+ * What a metrics registry shows over JMX. Times are in nanoseconds and keyed
+ * by histogram name; counters are keyed by counter name.
+ */
+public interface IMetricsRegistryMXBean {
+    Map<String, Long> getCounters();
+    Map<String, Long> getMedianNanos();
+    Map<String, Long> getP99Nanos();
+    Map<String, Long> getMaxNanos();
+    String getReport();
+    void Reset();
+}
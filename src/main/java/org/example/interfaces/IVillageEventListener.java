@@ -0,0 +1,27 @@
+package org.example.interfaces;
+
+/**
+ * Receives everything that happens in a village. Arguments are passed as
+ * the raw values, so a listener that ignores an event costs nothing.
+ */
+public interface IVillageEventListener {
+    void ResourceGathered(String name, int amount, String resource);
+    void WorkerFed(String name);
+    void WorkerHungry(String name, int daysHungry);
+    void DeadWorkerSkipped(String name);
+    void FeedingDone();
+    void WorkerStarved(String name);
+    void DeadWorkerIdle(String name);
+    void ProjectProgressed(String name, String project);
+    void NothingToBuild(String name);
+    void ProjectCompleted(String project);
+    void CastleCompleted(int daysGone);
+    void EveryoneDied(int daysGone);
+    void WorkerAdded(String name, String occupation);
+    void VillageFull();
+    void UnknownOccupation(String occupation);
+    void WorkersAdmitted(int accepted, int rejected);
+    void ProjectAdded(String project);
+    void NotEnoughMaterial(String project);
+    void UnknownProject(String project);
+}
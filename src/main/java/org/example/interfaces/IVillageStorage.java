@@ -0,0 +1,18 @@
+package org.example.interfaces;
+
+import org.example.Village;
+
+import java.util.ArrayList;
+
+/**
+ * Somewhere villages can be saved to and loaded from by name.
+ *
+ * A village that is missing or cannot be read loads as null, and a save that
+ * fails returns false. Town names that cannot be listed throw an
+ * {@link java.io.UncheckedIOException}.
+ */
+public interface IVillageStorage {
+    ArrayList<String> GetTownNames();
+    Village LoadVillage(String name);
+    boolean SaveVillage(Village village, String name);
+}
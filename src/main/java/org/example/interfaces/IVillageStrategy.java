@@ -0,0 +1,11 @@
+package org.example.interfaces;
+
+import org.example.Village;
+
+/**
+ * Plays a village: called once before every simulated day to add workers,
+ * start projects and so on.
+ */
+public interface IVillageStrategy {
+    void BeforeDay(Village village);
+}
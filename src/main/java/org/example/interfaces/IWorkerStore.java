@@ -0,0 +1,59 @@
+package org.example.interfaces;
+
+import org.example.objects.ChangeTracker;
+import org.example.objects.Occupation;
+import org.example.objects.Worker;
+
+import java.util.List;
+
+/**
+ * Storage for the workers of a village, addressed by index.
+ * The village only talks to its workers through this interface, so the
+ * backing layout can be swapped without touching the day loop.
+ */
+public interface IWorkerStore {
+    int size();
+    void add(String name, Occupation occupation);
+    /**
+     * Makes room for {@code capacity} workers in all, so that adding that many does not grow the store step by step.
+     */
+    default void ensureCapacity(int capacity) {
+    }
+
+    String getName(int index);
+    String getOccupation(int index);
+    Occupation getOccupationType(int index);
+    boolean isHungry(int index);
+    boolean isAlive(int index);
+    int getDaysHungry(int index);
+
+    void Feed(int index);
+    /**
+     * Moves the worker through one day and reports idle and starved workers.
+     * Returns true if the worker was fit to work today; the caller then does
+     * the work of its occupation.
+     */
+    boolean DoWork(int index, IVillageEventListener events, int daysUntilStarvation);
+    /**
+     * Moves the worker through one day like {@link #DoWork(int, IVillageEventListener, int)},
+     * but without printing anything.
+     * Returns true if the worker was fit to work today.
+     */
+    boolean WorkQuietly(int index, int daysUntilStarvation);
+    /**
+     * Moves a hungry worker through {@code days} days without food at once, as
+     * that many calls to {@link #WorkQuietly(int, int)} would.
+     */
+    void Starve(int index, int days, int daysUntilStarvation);
+
+    /**
+     * Reports changes made through the workers of {@link #asList()} to {@code tracker}.
+     */
+    void setChangeTracker(ChangeTracker tracker);
+
+    /**
+     * The workers as a list of {@link Worker} objects. Changes made through
+     * the returned workers are visible in the store.
+     */
+    List<Worker> asList();
+}
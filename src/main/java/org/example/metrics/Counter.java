@@ -0,0 +1,20 @@
+package org.example.metrics;
+
+/**
+ * A running total, such as the food gathered so far. Like {@link Histogram},
+ * it is written by the village thread only.
+ */
+public class Counter {
+    private long value;
+
+    public void Add(long amount) {
+        value += amount;
+    }
+    public void Reset() {
+        value = 0;
+    }
+
+    public long getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A Flight Recorder event for one village day, with the time each phase took.
+ * It is only committed while a recording has it enabled.
+ */
+@Name("org.example.Day")
+@Label("Village Day")
+@Category("Village")
+@Description("One day of a village and the time spent in each of its phases.")
+public class DayEvent extends Event {
+    @Label("Day")
+    public int day;
+
+    @Label("Feed")
+    @Timespan
+    public long feedNanos;
+
+    @Label("Work")
+    @Timespan
+    public long workNanos;
+
+    @Label("Build")
+    @Timespan
+    public long buildNanos;
+
+    @Label("Completions")
+    @Timespan
+    public long completeNanos;
+
+    @Label("Deaths")
+    public int deaths;
+}
@@ -0,0 +1,142 @@
+package org.example.metrics;
+
+/**
+ * Times the phases of a village day and counts what the day produced, into
+ * a {@link MetricsRegistry}. A village without day metrics skips all of this,
+ * so instrumentation that is off costs a null check per phase.
+ *
+ * A day is marked off by {@link #StartDay(int)}, {@link #Fed()},
+ * {@link #Worked()}, {@link #Built()} and {@link #EndDay(int, int)}; each
+ * mark records the time since the one before under the phase it ends.
+ * Completion callbacks are timed one by one as they run, which is inside the
+ * work or build phase.
+ */
+public class DayMetrics {
+    public static final String DAY = "day";
+    public static final String FEED = "feed";
+    public static final String WORK = "work";
+    public static final String BUILD = "build";
+    public static final String COMPLETE = "complete";
+    public static final String FOOD = "food";
+    public static final String WOOD = "wood";
+    public static final String METAL = "metal";
+    public static final String PROJECTS = "projects";
+    public static final String DEATHS = "deaths";
+
+    private final MetricsRegistry registry;
+    private final Histogram day;
+    private final Histogram feed;
+    private final Histogram work;
+    private final Histogram build;
+    private final Histogram complete;
+    private final Counter food;
+    private final Counter wood;
+    private final Counter metal;
+    private final Counter projects;
+    private final Counter deaths;
+    private boolean flightRecorder = false;
+
+    private long dayStart;
+    private long phaseStart;
+    private int aliveAtStart;
+    private DayEvent event;
+
+    public DayMetrics() {
+        this(new MetricsRegistry());
+    }
+
+    public DayMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+        day = registry.histogram(DAY);
+        feed = registry.histogram(FEED);
+        work = registry.histogram(WORK);
+        build = registry.histogram(BUILD);
+        complete = registry.histogram(COMPLETE);
+        food = registry.counter(FOOD);
+        wood = registry.counter(WOOD);
+        metal = registry.counter(METAL);
+        projects = registry.counter(PROJECTS);
+        deaths = registry.counter(DEATHS);
+    }
+
+    public void StartDay(int alive) {
+        aliveAtStart = alive;
+        if (flightRecorder) {
+            event = new DayEvent();
+            event.begin();
+        }
+        dayStart = System.nanoTime();
+        phaseStart = dayStart;
+    }
+    public void Fed() {
+        long elapsed = Phase();
+        feed.Record(elapsed);
+        if (event != null) {
+            event.feedNanos = elapsed;
+        }
+    }
+    public void Worked() {
+        long elapsed = Phase();
+        work.Record(elapsed);
+        if (event != null) {
+            event.workNanos = elapsed;
+        }
+    }
+    public void Built() {
+        long elapsed = Phase();
+        build.Record(elapsed);
+        if (event != null) {
+            event.buildNanos = elapsed;
+        }
+    }
+    public void EndDay(int daysGone, int alive) {
+        day.Record(System.nanoTime() - dayStart);
+        int died = Math.max(aliveAtStart - alive, 0);
+        deaths.Add(died);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.day = daysGone;
+                event.deaths = died;
+                event.commit();
+            }
+            event = null;
+        }
+    }
+
+    /**
+     * A completion callback took {@code nanos} to run.
+     */
+    public void Completed(long nanos) {
+        complete.Record(nanos);
+        projects.Add(1);
+        if (event != null) {
+            event.completeNanos += nanos;
+        }
+    }
+    public void Gathered(long food, long wood, long metal) {
+        this.food.Add(food);
+        this.wood.Add(wood);
+        this.metal.Add(metal);
+    }
+
+    private long Phase() {
+        long now = System.nanoTime();
+        long elapsed = now - phaseStart;
+        phaseStart = now;
+        return elapsed;
+    }
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+    public boolean isFlightRecorder() {
+        return flightRecorder;
+    }
+    /**
+     * Whether each day is also sent to Flight Recorder as a {@link DayEvent}.
+     */
+    public void setFlightRecorder(boolean flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+}
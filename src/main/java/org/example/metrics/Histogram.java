@@ -0,0 +1,85 @@
+package org.example.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A distribution of non-negative values, such as how many nanoseconds a phase
+ * of a day took. Values below 32 get a bucket each; above that every power of
+ * two is split into 32 buckets, so a percentile is off by at most about 3%
+ * while recording stays a shift and an array increment.
+ *
+ * The village records from its own thread. A reader on another thread, such
+ * as JMX, may see a value half recorded, which only matters for that value.
+ */
+public class Histogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private final long[] buckets = new long[SUB_COUNT + (64 - SUB_BITS) * SUB_COUNT];
+    private long count;
+    private long sum;
+    private long max;
+
+    public void Record(long value) {
+        value = Math.max(value, 0);
+        buckets[Bucket(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * The smallest recorded value that {@code percent} percent of the values are at or below,
+     * rounded up to the end of its bucket. 0 if nothing was recorded.
+     */
+    public long Percentile(double percent) {
+        long total = count;
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(Math.min(percent, 100) / 100 * total), 1);
+        long seen = 0;
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return Math.min(UpperBound(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    public void Reset() {
+        Arrays.fill(buckets, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+    public long getMax() {
+        return max;
+    }
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    private static int Bucket(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return SUB_COUNT + shift * SUB_COUNT + (int) (value >>> shift) - SUB_COUNT;
+    }
+
+    private static long UpperBound(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_COUNT) / SUB_COUNT;
+        long sub = (bucket - SUB_COUNT) % SUB_COUNT;
+        long next = (SUB_COUNT + sub + 1) << shift;
+        return next < 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.metrics;
+
+import org.example.interfaces.IMetricsRegistryMXBean;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named histograms and counters, kept in the order they were first asked
+ * for. Asking for a name twice gives the same metric, so whoever records
+ * looks a metric up once and keeps it. The registry can be shown over JMX
+ * with {@link #Expose(String)}.
+ */
+public class MetricsRegistry implements IMetricsRegistryMXBean {
+    public static final String DOMAIN = "org.example";
+
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<String, Counter> counters = new LinkedHashMap<>();
+
+    public synchronized Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+    public synchronized Counter counter(String name) {
+        return counters.computeIfAbsent(name, k -> new Counter());
+    }
+
+    /**
+     * Registers the registry with the platform MBean server as
+     * {@code org.example:type=Metrics,name=<name>} and returns that name.
+     */
+    public ObjectName Expose(String name) throws JMException {
+        ObjectName objectName = new ObjectName(DOMAIN + ":type=Metrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    public static void Unexpose(ObjectName objectName) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getCounters() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.getValue()));
+        return values;
+    }
+    @Override
+    public Map<String, Long> getMedianNanos() {
+        return Percentiles(50);
+    }
+    @Override
+    public Map<String, Long> getP99Nanos() {
+        return Percentiles(99);
+    }
+    @Override
+    public synchronized Map<String, Long> getMaxNanos() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, histogram.getMax()));
+        return values;
+    }
+
+    /**
+     * One line per histogram with its count and percentiles in microseconds, then one line per counter.
+     */
+    @Override
+    public synchronized String getReport() {
+        StringBuilder report = new StringBuilder();
+        histograms.forEach((name, h) -> report.append(String.format(Locale.ROOT,
+                "%-10s n=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus%n", name, h.getCount(),
+                h.getMean() / 1000, h.Percentile(50) / 1000.0, h.Percentile(90) / 1000.0,
+                h.Percentile(99) / 1000.0, h.getMax() / 1000.0)));
+        counters.forEach((name, counter) -> report.append(String.format(Locale.ROOT,
+                "%-10s %d%n", name, counter.getValue())));
+        return report.toString();
+    }
+
+    @Override
+    public synchronized void Reset() {
+        histograms.values().forEach(Histogram::Reset);
+        counters.values().forEach(Counter::Reset);
+    }
+
+    private synchronized Map<String, Long> Percentiles(double percent) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, histogram.Percentile(percent)));
+        return values;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.objects;
+
+/**
+ * How a {@link WorkerBatch} fared: how many workers were admitted, how many
+ * were turned away because the village was full, and how many had an
+ * occupation that does not exist.
+ */
+public final class AdmissionResult {
+    private final int accepted;
+    private final int rejectedFull;
+    private final int rejectedUnknown;
+
+    public AdmissionResult(int accepted, int rejectedFull, int rejectedUnknown) {
+        this.accepted = accepted;
+        this.rejectedFull = rejectedFull;
+        this.rejectedUnknown = rejectedUnknown;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+    public int getRejectedFull() {
+        return rejectedFull;
+    }
+    public int getRejectedUnknown() {
+        return rejectedUnknown;
+    }
+    public int getRejected() {
+        return rejectedFull + rejectedUnknown;
+    }
+
+    @Override
+    public String toString() {
+        return accepted + " accepted, " + rejectedFull + " rejected for lack of room, " + rejectedUnknown + " rejected for an unknown occupation";
+    }
+}
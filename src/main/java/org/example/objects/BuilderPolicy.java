@@ -0,0 +1,25 @@
+package org.example.objects;
+
+/**
+ * How the builders of a village share the projects in the queue.
+ */
+public enum BuilderPolicy {
+    /**
+     * Every builder works on the first project. This is how villages have always built.
+     */
+    SINGLE_HEAD,
+    /**
+     * The builders of a day are dealt out over the queued projects in turn.
+     * Effort a finished project does not need is dealt out again over the
+     * projects that are left.
+     */
+    ROUND_ROBIN,
+    /**
+     * The builders of a day are split into crews, one per thread. A crew
+     * claims the next unclaimed project and works on it until it is done, then
+     * claims another. When every project is claimed, a crew helps out on any
+     * project that is not done yet. When there is not enough effort for every
+     * project, which ones get finished can differ between runs.
+     */
+    WORK_STEALING
+}
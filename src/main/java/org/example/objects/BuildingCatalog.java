@@ -0,0 +1,111 @@
+package org.example.objects;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The buildings villages can build, read from a catalog file. Every line
+ * holds a name, the wood and metal it costs, the days it takes and any
+ * number of effects (see {@link BuildingEffect#Parse(String)}), separated by
+ * whitespace. Empty lines and lines starting with {@code #} are skipped.
+ *
+ * A catalog cannot be changed once it is read, so one catalog is shared by
+ * all villages that use it. {@link #Default()} is read once per JVM, from the
+ * file named by the {@code village.catalog} system property or else from the
+ * catalog that ships with the game.
+ */
+public final class BuildingCatalog {
+    public static final String PROPERTY = "village.catalog";
+    private static final String RESOURCE = "/org/example/buildings.catalog";
+
+    private final Map<String, PossibleProject> projects;
+
+    private BuildingCatalog(HashMap<String, PossibleProject> projects) {
+        this.projects = Collections.unmodifiableMap(projects);
+    }
+
+    private static final class DefaultHolder {
+        private static final BuildingCatalog INSTANCE = LoadDefault();
+    }
+
+    public static BuildingCatalog Default() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static BuildingCatalog LoadDefault() {
+        try {
+            String path = System.getProperty(PROPERTY);
+            if (path != null) {
+                return Load(Path.of(path));
+            }
+            try (InputStream in = BuildingCatalog.class.getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new IOException(RESOURCE + " is missing.");
+                }
+                return Read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Could not read the building catalog.", e);
+        }
+    }
+
+    public static BuildingCatalog Load(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return Read(reader);
+        }
+    }
+
+    public static BuildingCatalog Read(BufferedReader reader) throws IOException {
+        HashMap<String, PossibleProject> projects = new HashMap<>();
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            if (parts.length < 4) {
+                throw new IOException("Line " + lineNumber + ": expected a name, wood, metal and days.");
+            }
+            if (projects.containsKey(parts[0])) {
+                throw new IOException("Line " + lineNumber + ": " + parts[0] + " is defined twice.");
+            }
+            try {
+                List<BuildingEffect> effects = new ArrayList<>();
+                for (int i = 4; i < parts.length; i++) {
+                    effects.add(BuildingEffect.Parse(parts[i]));
+                }
+                projects.put(parts[0], new PossibleProject(parts[0], Integer.parseInt(parts[1]),
+                        Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), effects));
+            }
+            catch (IllegalArgumentException e) {
+                throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return new BuildingCatalog(projects);
+    }
+
+    /**
+     * The buildings by name. The map cannot be changed.
+     */
+    public Map<String, PossibleProject> getProjects() {
+        return projects;
+    }
+    public PossibleProject get(String name) {
+        return projects.get(name);
+    }
+}
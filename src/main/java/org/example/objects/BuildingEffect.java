@@ -0,0 +1,70 @@
+package org.example.objects;
+
+/**
+ * What a finished building does to its village: it raises one of the
+ * village's counts by an amount, or it ends the game.
+ */
+public final class BuildingEffect {
+    public enum Target {
+        MAX_WORKERS("maxWorkers"),
+        FOOD_PER_DAY("foodPerDay"),
+        WOOD_PER_DAY("woodPerDay"),
+        METAL_PER_DAY("metalPerDay"),
+        GAME_OVER("gameOver");
+
+        private final String key;
+
+        Target(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final Target target;
+    private final long amount;
+
+    public BuildingEffect(Target target, long amount) {
+        this.target = target;
+        this.amount = amount;
+    }
+
+    /**
+     * Parses an effect as written in a catalog: {@code gameOver}, or a count
+     * and a signed amount such as {@code maxWorkers+2}.
+     */
+    public static BuildingEffect Parse(String text) {
+        for (Target target : Target.values()) {
+            if (!text.startsWith(target.getKey())) {
+                continue;
+            }
+            String amount = text.substring(target.getKey().length());
+            if (target == Target.GAME_OVER && amount.isEmpty()) {
+                return new BuildingEffect(target, 0);
+            }
+            if (target != Target.GAME_OVER && (amount.startsWith("+") || amount.startsWith("-"))) {
+                try {
+                    return new BuildingEffect(target, Long.parseLong(amount));
+                }
+                catch (NumberFormatException e) {
+                    break;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown effect \"" + text + "\".");
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+    public long getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return target == Target.GAME_OVER ? target.getKey() : target.getKey() + (amount < 0 ? "" : "+") + amount;
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.objects;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The buildings of a village, kept as a count per building type rather than
+ * an object per building. The order the buildings were finished in is kept
+ * as runs: a type and how many of it were finished one after another, so a
+ * village that finishes a hundred Houses in a row holds one run.
+ *
+ * Counting the buildings of a type is a lookup, and {@link #asList()} shows
+ * the buildings as a list in the order they were finished, for code that
+ * wants {@link Building} objects.
+ *
+ * With a {@link ChangeTracker} set, adding buildings or clearing them, also
+ * through the list, marks the buildings as changed.
+ */
+public class BuildingInventory {
+    private final HashMap<String, Integer> types = new HashMap<>();
+    private String[] names = new String[4];
+    private int[] counts = new int[4];
+    private int typeCount = 0;
+
+    private int[] runTypes = new int[4];
+    // Number of buildings up to and including each run.
+    private int[] runEnds = new int[4];
+    private int runCount = 0;
+    private ChangeTracker tracker;
+
+    public void add(String name) {
+        Integer type = types.get(name);
+        if (type == null) {
+            type = typeCount;
+            if (typeCount == names.length) {
+                names = Arrays.copyOf(names, typeCount * 2);
+                counts = Arrays.copyOf(counts, typeCount * 2);
+            }
+            names[typeCount++] = name;
+            types.put(name, type);
+        }
+        counts[type]++;
+        Changed();
+        if (runCount > 0 && runTypes[runCount - 1] == type) {
+            runEnds[runCount - 1]++;
+            return;
+        }
+        if (runCount == runTypes.length) {
+            runTypes = Arrays.copyOf(runTypes, runCount * 2);
+            runEnds = Arrays.copyOf(runEnds, runCount * 2);
+        }
+        runTypes[runCount] = type;
+        runEnds[runCount] = size() + 1;
+        runCount++;
+    }
+
+    public void clear() {
+        types.clear();
+        Arrays.fill(names, 0, typeCount, null);
+        Arrays.fill(counts, 0, typeCount, 0);
+        typeCount = 0;
+        runCount = 0;
+        Changed();
+    }
+
+    /**
+     * Reports adding and clearing buildings to {@code tracker}.
+     */
+    public void setChangeTracker(ChangeTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    private void Changed() {
+        if (tracker != null) {
+            tracker.MarkBuildings();
+        }
+    }
+
+    public int size() {
+        return runCount == 0 ? 0 : runEnds[runCount - 1];
+    }
+
+    /**
+     * How many buildings of type {@code name} there are.
+     */
+    public int count(String name) {
+        Integer type = types.get(name);
+        return type == null ? 0 : counts[type];
+    }
+
+    /**
+     * Name of the building finished {@code index}th, counted from 0.
+     */
+    public String getName(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("No building " + index + " of " + size() + ".");
+        }
+        int run = Arrays.binarySearch(runEnds, 0, runCount, index + 1);
+        if (run < 0) {
+            run = -run - 1;
+        }
+        return names[runTypes[run]];
+    }
+
+    /**
+     * Passes every building type with its count to {@code action}, in the order the types were first finished.
+     */
+    public void ForEachType(ObjIntConsumer<String> action) {
+        for (int type = 0; type < typeCount; type++) {
+            action.accept(names[type], counts[type]);
+        }
+    }
+
+    /**
+     * Number of runs of buildings of one type in finishing order.
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+    public String getRunName(int run) {
+        return names[runTypes[run]];
+    }
+    public int getRunLength(int run) {
+        return run == 0 ? runEnds[0] : runEnds[run] - runEnds[run - 1];
+    }
+
+    /**
+     * The buildings as a list in finishing order. The list is a view: its
+     * buildings are made as they are asked for, so renaming one does not
+     * change the inventory. Buildings can be added at the end and the list
+     * can be cleared, which changes the inventory.
+     */
+    public List<Building> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Building get(int index) {
+                return new Building(getName(index));
+            }
+            @Override
+            public int size() {
+                return BuildingInventory.this.size();
+            }
+            @Override
+            public void add(int index, Building building) {
+                if (index != size()) {
+                    throw new UnsupportedOperationException("Buildings can only be added at the end.");
+                }
+                BuildingInventory.this.add(building.getName());
+                modCount++;
+            }
+            @Override
+            public void clear() {
+                BuildingInventory.this.clear();
+                modCount++;
+            }
+            @Override
+            public Iterator<Building> iterator() {
+                return new Iterator<>() {
+                    private int run = 0;
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < BuildingInventory.this.size();
+                    }
+                    @Override
+                    public Building next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        while (runEnds[run] <= index) {
+                            run++;
+                        }
+                        index++;
+                        return new Building(names[runTypes[run]]);
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.objects;
+
+import java.util.BitSet;
+
+/**
+ * Remembers what has changed in a village since it was last saved, so a
+ * save only has to write the changes. Village fields are tracked as bits,
+ * workers by index, and buildings and projects as a whole.
+ */
+public class ChangeTracker {
+    public static final int GAME_OVER = 1;
+    public static final int FOOD = 1 << 1;
+    public static final int WOOD = 1 << 2;
+    public static final int METAL = 1 << 3;
+    public static final int FOOD_PER_DAY = 1 << 4;
+    public static final int WOOD_PER_DAY = 1 << 5;
+    public static final int METAL_PER_DAY = 1 << 6;
+    public static final int MAX_WORKERS = 1 << 7;
+    public static final int DAYS_GONE = 1 << 8;
+    public static final int DAYS_UNTIL_STARVATION = 1 << 9;
+    public static final int AGGREGATE_DAY = 1 << 10;
+    public static final int FIELD_COUNT = 11;
+    public static final int ALL_FIELDS = (1 << FIELD_COUNT) - 1;
+
+    private int fields;
+    private final BitSet workers = new BitSet();
+    private boolean buildings;
+    private boolean projects;
+    private boolean rebase = true;
+    private int savedWorkers;
+    private String savedName;
+
+    public void MarkFields(int fields) {
+        this.fields |= fields;
+    }
+    public void MarkWorker(int index) {
+        workers.set(index);
+    }
+    public void MarkBuildings() {
+        buildings = true;
+    }
+    public void MarkProjects() {
+        projects = true;
+    }
+    /**
+     * Something changed that a delta cannot describe, such as a worker's name,
+     * so the next save has to write the whole village.
+     */
+    public void MarkRebase() {
+        rebase = true;
+    }
+
+    public int getFields() {
+        return fields;
+    }
+    public BitSet getWorkers() {
+        return workers;
+    }
+    public boolean isBuildingsChanged() {
+        return buildings;
+    }
+    public boolean isProjectsChanged() {
+        return projects;
+    }
+    public boolean isRebase() {
+        return rebase;
+    }
+    /**
+     * Number of workers at the last save. Workers after these are new.
+     */
+    public int getSavedWorkers() {
+        return savedWorkers;
+    }
+    public String getSavedName() {
+        return savedName;
+    }
+
+    /**
+     * Forgets all changes after the village has been saved under {@code name}.
+     */
+    public void Saved(String name, int workerCount) {
+        fields = 0;
+        workers.clear();
+        buildings = false;
+        projects = false;
+        rebase = false;
+        savedWorkers = workerCount;
+        savedName = name;
+    }
+}
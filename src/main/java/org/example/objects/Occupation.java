@@ -0,0 +1,53 @@
+package org.example.objects;
+
+/**
+ * The jobs a worker can have. Worker stores keep an occupation as its byte
+ * {@link #getCode() code}, and the village dispatches the work of a day with a
+ * switch over the occupation, so there is no per-village table of actions.
+ */
+public enum Occupation {
+    FARMER("farmer"),
+    LUMBERJACK("lumberjack"),
+    MINER("miner"),
+    BUILDER("builder");
+
+    private static final Occupation[] CODES = values();
+
+    private final String name;
+
+    Occupation(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The occupation with the given name as the player types it, or null if there is none.
+     */
+    public static Occupation Parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        return switch (name) {
+            case "farmer" -> FARMER;
+            case "lumberjack" -> LUMBERJACK;
+            case "miner" -> MINER;
+            case "builder" -> BUILDER;
+            default -> null;
+        };
+    }
+
+    public static Occupation FromCode(byte code) {
+        return CODES[code];
+    }
+
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
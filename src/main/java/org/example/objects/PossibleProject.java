@@ -2,43 +2,53 @@ package org.example.objects;
 
 import org.example.interfaces.ICompleteAction;
 
+import java.util.List;
+
+/**
+ * A building that can be started as a project: what it costs, how long it
+ * takes and what it does once finished. Possible projects come from a
+ * {@link BuildingCatalog} and hold nothing of any one village, so a single
+ * instance is shared by every village that uses the catalog.
+ */
 public class PossibleProject extends Building {
-    private int woodCost;
-    private int metalCost;
-    private int daysToComplete;
-    private ICompleteAction completeAction;
+    private final int woodCost;
+    private final int metalCost;
+    private final int daysToComplete;
+    private final List<BuildingEffect> effects;
 
     public PossibleProject(String name) {
-        super(name);
+        this(name, 0, 0, 0, List.of());
     }
-    public PossibleProject(String name, int woodCost, int metalCost, int daysToComplete, ICompleteAction completeAction) {
+    public PossibleProject(String name, int woodCost, int metalCost, int daysToComplete, List<BuildingEffect> effects) {
         super(name);
         this.woodCost = woodCost;
         this.metalCost = metalCost;
         this.daysToComplete = daysToComplete;
-        this.completeAction = completeAction;
+        this.effects = List.copyOf(effects);
     }
 
-    public Project GetProject() {
+    /**
+     * Starts a project of this building that runs {@code completeAction} once it is finished.
+     */
+    public Project GetProject(ICompleteAction completeAction) {
         return new Project(getName(), getDaysToComplete(), completeAction);
     }
 
+    @Override
+    public void setName(String name) {
+        throw new UnsupportedOperationException("Possible projects are shared and cannot be renamed.");
+    }
+
     public int getWoodCost() {
         return woodCost;
     }
-    public void setWoodCost(int woodCost) {
-        this.woodCost = woodCost;
-    }
     public int getMetalCost() {
         return metalCost;
     }
-    public void setMetalCost(int metalCost) {
-        this.metalCost = metalCost;
-    }
     public int getDaysToComplete() {
         return daysToComplete;
     }
-    public void setDaysToComplete(int daysToComplete) {
-        this.daysToComplete = daysToComplete;
+    public List<BuildingEffect> getEffects() {
+        return effects;
     }
 }
@@ -2,24 +2,49 @@ package org.example.objects;
 
 import org.example.interfaces.ICompleteAction;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
 public class Project extends Building {
-    private int daysLeft;
+    // The days left in the low 32 bits and FINISHED above them, so that the
+    // build that finishes the project also marks it finished in one step, and
+    // builder crews on several threads never see one without the other.
+    private static final long FINISHED = 1L << 32;
+    private final AtomicLong state;
+    private final AtomicBoolean completed = new AtomicBoolean(false);
     private ICompleteAction completeAction;
+    private ChangeTracker tracker;
 
     public Project(String name, int daysLeft, ICompleteAction completeAction) {
         super(name);
-        this.daysLeft = daysLeft;
+        this.state = new AtomicLong(daysLeft & 0xFFFFFFFFL);
         this.completeAction = completeAction;
     }
+    /**
+     * Runs the completion action. It only ever runs once per project.
+     */
     public void Complete() {
-        completeAction.UponCompletion();
+        if (completed.compareAndSet(false, true)) {
+            completeAction.UponCompletion();
+        }
     }
 
     public int getDaysLeft() {
-        return daysLeft;
+        return (int) state.get();
     }
     public void setDaysLeft(int daysLeft) {
-        this.daysLeft = daysLeft;
+        state.updateAndGet(old -> (old & FINISHED) | (daysLeft & 0xFFFFFFFFL));
+        if (tracker != null) {
+            tracker.MarkProjects();
+        }
+    }
+
+    /**
+     * Reports changes made through {@link #setDaysLeft(int)} to {@code tracker}.
+     * Building on the project is reported by the village.
+     */
+    public void Track(ChangeTracker tracker) {
+        this.tracker = tracker;
     }
 
     public ICompleteAction getCompleteAction() {
@@ -30,7 +55,34 @@ public class Project extends Building {
     }
 
     public boolean BuildOn() {
-        daysLeft--;
-        return daysLeft < 1;
+        return (int) state.updateAndGet(old -> (old & FINISHED) | (((int) old - 1) & 0xFFFFFFFFL)) < 1;
+    }
+
+    /**
+     * Puts up to {@code effort} builds into the project, but no more than it
+     * needs to be finished, and returns how many were used. Safe to call from
+     * several threads at once: exactly one call sees the project finish.
+     */
+    public int BuildOn(int effort) {
+        while (effort > 0) {
+            long old = state.get();
+            if ((old & FINISHED) != 0) {
+                return 0;
+            }
+            int left = (int) old;
+            int used = Math.min(effort, Math.max(left, 1));
+            long next = ((left - used) & 0xFFFFFFFFL) | (left - used < 1 ? FINISHED : 0);
+            if (state.compareAndSet(old, next)) {
+                return used;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Whether a call to {@link #BuildOn(int)} has finished the project.
+     */
+    public boolean isFinished() {
+        return (state.get() & FINISHED) != 0;
     }
 }
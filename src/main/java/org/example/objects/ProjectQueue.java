@@ -0,0 +1,156 @@
+package org.example.objects;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The queue of projects a village is working on, kept in a ring buffer.
+ * Builders always work on the first project, and finishing it removes it
+ * from the front without moving the projects behind it. Adding to either
+ * end is also constant time, so a project can be pushed to the front of a
+ * long queue cheaply. Inserting or removing in the middle moves whichever
+ * side of the queue is shorter.
+ *
+ * With a {@link ChangeTracker} set, changing the queue, or a project in it,
+ * marks the projects as changed.
+ */
+public class ProjectQueue extends AbstractList<Project> implements RandomAccess {
+    private Project[] elements;
+    private int head = 0;
+    private int size = 0;
+    private ChangeTracker tracker;
+
+    public ProjectQueue() {
+        elements = new Project[8];
+    }
+    public ProjectQueue(Collection<? extends Project> projects) {
+        this();
+        addAll(projects);
+    }
+
+    private int slot(int index) {
+        return (head + index) & (elements.length - 1);
+    }
+
+    @Override
+    public Project get(int index) {
+        Objects.checkIndex(index, size);
+        return elements[slot(index)];
+    }
+    @Override
+    public Project set(int index, Project project) {
+        Objects.checkIndex(index, size);
+        int slot = slot(index);
+        Project old = elements[slot];
+        elements[slot] = project;
+        Changed(project);
+        return old;
+    }
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(int index, Project project) {
+        Objects.checkIndex(index, size + 1);
+        if (size == elements.length) {
+            elements = toArray(new Project[elements.length * 2]);
+            head = 0;
+        }
+        if (index < size / 2) {
+            head = (head - 1) & (elements.length - 1);
+            for (int i = 0; i < index; i++) {
+                elements[slot(i)] = elements[slot(i + 1)];
+            }
+        }
+        else {
+            for (int i = size; i > index; i--) {
+                elements[slot(i)] = elements[slot(i - 1)];
+            }
+        }
+        elements[slot(index)] = project;
+        size++;
+        modCount++;
+        Changed(project);
+    }
+    @Override
+    public Project remove(int index) {
+        Objects.checkIndex(index, size);
+        Project removed = elements[slot(index)];
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                elements[slot(i)] = elements[slot(i - 1)];
+            }
+            elements[head] = null;
+            head = (head + 1) & (elements.length - 1);
+        }
+        else {
+            for (int i = index; i < size - 1; i++) {
+                elements[slot(i)] = elements[slot(i + 1)];
+            }
+            elements[slot(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        Changed(null);
+        return removed;
+    }
+    @Override
+    public void clear() {
+        Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+        modCount++;
+        Changed(null);
+    }
+
+    /**
+     * Reports changes to the queue and to the projects in it to {@code tracker}.
+     */
+    public void setChangeTracker(ChangeTracker tracker) {
+        this.tracker = tracker;
+        for (int i = 0; i < size; i++) {
+            elements[slot(i)].Track(tracker);
+        }
+    }
+
+    private void Changed(Project project) {
+        if (project != null) {
+            project.Track(tracker);
+        }
+        if (tracker != null) {
+            tracker.MarkProjects();
+        }
+    }
+
+    /**
+     * The project builders are working on, or null if there is none.
+     */
+    public Project peekFirst() {
+        return size == 0 ? null : elements[head];
+    }
+    public void addFirst(Project project) {
+        add(0, project);
+    }
+    public Project removeFirst() {
+        return remove(0);
+    }
+
+    /**
+     * Makes the project at {@code index} the one builders work on next.
+     */
+    public void moveToFront(int index) {
+        move(index, 0);
+    }
+    /**
+     * Moves a project to another place in the queue. The projects in between shift one step.
+     */
+    public void move(int from, int to) {
+        Objects.checkIndex(to, size);
+        add(to, remove(from));
+    }
+}
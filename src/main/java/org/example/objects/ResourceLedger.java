@@ -0,0 +1,114 @@
+package org.example.objects;
+
+/**
+ * The resources of a village and what they grow by each day, kept as 64-bit
+ * counts. Arithmetic saturates: a count that would go past the largest or
+ * smallest long stays there instead of wrapping around, so a very long run
+ * can never turn a full store into an empty one.
+ *
+ * The int getters of {@link org.example.Village} clamp these counts to the
+ * int range.
+ */
+public final class ResourceLedger {
+    private long food = 0;
+    private long wood = 0;
+    private long metal = 0;
+    private long foodPerDay = 5;
+    private long woodPerDay = 1;
+    private long metalPerDay = 1;
+    private long maxWorkers = 0;
+
+    public void AddFood(long amount) {
+        food = Add(food, amount);
+    }
+    public void AddWood(long amount) {
+        wood = Add(wood, amount);
+    }
+    public void AddMetal(long amount) {
+        metal = Add(metal, amount);
+    }
+
+    /**
+     * Adds a day's work of the given number of gatherers at the current rates.
+     */
+    public void Gather(long farmers, long lumberjacks, long miners) {
+        food = Add(food, Multiply(foodPerDay, farmers));
+        wood = Add(wood, Multiply(woodPerDay, lumberjacks));
+        metal = Add(metal, Multiply(metalPerDay, miners));
+    }
+
+    /**
+     * Takes the cost of a project if there is enough wood and metal for it.
+     */
+    public boolean Spend(long woodCost, long metalCost) {
+        if (wood < woodCost || metal < metalCost) {
+            return false;
+        }
+        wood = Add(wood, -woodCost);
+        metal = Add(metal, -metalCost);
+        return true;
+    }
+
+    public static long Add(long a, long b) {
+        long sum = a + b;
+        // The sum overflowed if both operands have a different sign than the result.
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return sum;
+    }
+    public static long Multiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return low;
+        }
+        return (a ^ b) < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+    public static int ToInt(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    public long getFood() {
+        return food;
+    }
+    public void setFood(long food) {
+        this.food = food;
+    }
+    public long getWood() {
+        return wood;
+    }
+    public void setWood(long wood) {
+        this.wood = wood;
+    }
+    public long getMetal() {
+        return metal;
+    }
+    public void setMetal(long metal) {
+        this.metal = metal;
+    }
+    public long getFoodPerDay() {
+        return foodPerDay;
+    }
+    public void setFoodPerDay(long foodPerDay) {
+        this.foodPerDay = foodPerDay;
+    }
+    public long getWoodPerDay() {
+        return woodPerDay;
+    }
+    public void setWoodPerDay(long woodPerDay) {
+        this.woodPerDay = woodPerDay;
+    }
+    public long getMetalPerDay() {
+        return metalPerDay;
+    }
+    public void setMetalPerDay(long metalPerDay) {
+        this.metalPerDay = metalPerDay;
+    }
+    public long getMaxWorkers() {
+        return maxWorkers;
+    }
+    public void setMaxWorkers(long maxWorkers) {
+        this.maxWorkers = maxWorkers;
+    }
+}
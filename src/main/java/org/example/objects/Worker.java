@@ -1,49 +1,102 @@
 package org.example.objects;
 
-import org.example.interfaces.IOccupationAction;
+import org.example.events.ConsoleEventSink;
+import org.example.interfaces.IVillageEventListener;
 
 public class Worker {
+    /**
+     * Starvation limit for workers used outside a village. Each village keeps its own limit.
+     */
     public static int daysUntilStarvation = 5;
     private String name;
-    private String occupation;
-    private IOccupationAction occupationAction;
+    private byte occupation;
     private boolean hungry;
     private boolean alive;
     private int daysHungry;
+    private ChangeTracker tracker;
+    private int trackedIndex;
 
-    public Worker(String name, String occupation, IOccupationAction occupationAction, boolean hungry, boolean alive, int daysHungry) {
+    public Worker(String name, Occupation occupation, boolean hungry, boolean alive, int daysHungry) {
         this.name = name;
-        this.occupation = occupation;
-        this.occupationAction = occupationAction;
+        this.occupation = Code(occupation);
         this.alive = alive;
         this.hungry = hungry;
         this.daysHungry = daysHungry;
     }
 
-    public Worker(String name, String occupation, IOccupationAction occupationAction) {
+    public Worker(String name, Occupation occupation) {
         this.name = name;
-        this.occupation = occupation;
-        this.occupationAction = occupationAction;
+        this.occupation = Code(occupation);
         hungry = false;
         alive = true;
         daysHungry = 0;
     }
 
-    public void DoWork() {
+    // Subclasses that keep the occupation elsewhere pass null.
+    private static byte Code(Occupation occupation) {
+        return occupation == null ? -1 : occupation.getCode();
+    }
+
+    public boolean DoWork() {
+        return DoWork(new ConsoleEventSink(), daysUntilStarvation);
+    }
+
+    /**
+     * Moves the worker through one day. Returns true if the worker was fit to
+     * work; the caller then does the work of the worker's occupation.
+     */
+    public boolean DoWork(IVillageEventListener events, int daysUntilStarvation) {
         if (!alive) {
-            System.out.println(name + " is not alive and cannot work...");
-            return;
+            events.DeadWorkerIdle(name);
+            return false;
+        }
+        if (!hungry) {
+            hungry = true;
+            return true;
+        }
+        daysHungry++;
+        if (daysHungry >= daysUntilStarvation) {
+            alive = false;
+            events.WorkerStarved(getName());
+        }
+        return false;
+    }
+
+    /**
+     * Same state changes as {@link #DoWork()}, but nothing is printed.
+     * Returns true if the worker worked.
+     */
+    public boolean WorkQuietly() {
+        return WorkQuietly(daysUntilStarvation);
+    }
+
+    public boolean WorkQuietly(int daysUntilStarvation) {
+        if (!alive) {
+            return false;
         }
         if (!hungry) {
-            occupationAction.Work(name);
             hungry = true;
+            return true;
+        }
+        daysHungry++;
+        if (daysHungry >= daysUntilStarvation) {
+            alive = false;
+        }
+        return false;
+    }
+
+    /**
+     * Moves a hungry worker through {@code days} days without food at once,
+     * as that many calls to {@link #WorkQuietly(int)} would.
+     */
+    public void Starve(int days, int daysUntilStarvation) {
+        if (!alive || days <= 0) {
+            return;
         }
-        else {
-            daysHungry++;
-            if (daysHungry >= daysUntilStarvation) {
-                alive = false;
-                System.out.println(getName() + " has died of hunger!");
-            }
+        int steps = Math.min(days, Math.max(daysUntilStarvation - daysHungry, 1));
+        daysHungry += steps;
+        if (daysHungry >= daysUntilStarvation) {
+            alive = false;
         }
     }
 
@@ -54,42 +107,69 @@ public class Worker {
         }
     }
 
+    /**
+     * Reports changes made through the setters to {@code tracker} as changes to worker {@code index}.
+     */
+    public void Track(ChangeTracker tracker, int index) {
+        this.tracker = tracker;
+        this.trackedIndex = index;
+    }
+    protected void Changed() {
+        if (tracker != null) {
+            tracker.MarkWorker(trackedIndex);
+        }
+    }
+    protected void IdentityChanged() {
+        if (tracker != null) {
+            tracker.MarkRebase();
+        }
+    }
+
     public String getName() {
         return name;
     }
     public void setName(String name) {
         this.name = name;
+        IdentityChanged();
     }
     public String getOccupation() {
-        return occupation;
+        return getOccupationType().getName();
+    }
+    public Occupation getOccupationType() {
+        return Occupation.FromCode(occupation);
     }
 
     public void setOccupation(String occupation) {
-        this.occupation = occupation;
-    }
-    public IOccupationAction getOccupationAction() {
-        return occupationAction;
+        Occupation type = Occupation.Parse(occupation);
+        if (type == null) {
+            throw new IllegalArgumentException("There is no occupation " + occupation + ".");
+        }
+        setOccupation(type);
     }
-    public void setOccupationAction(IOccupationAction occupationAction) {
-        this.occupationAction = occupationAction;
+    public void setOccupation(Occupation occupation) {
+        this.occupation = occupation.getCode();
+        IdentityChanged();
     }
     public boolean isHungry() {
         return hungry;
     }
     public void setHungry(boolean hungry) {
         this.hungry = hungry;
+        Changed();
     }
     public int getDaysHungry() {
         return daysHungry;
     }
     public void setDaysHungry(int daysHungry) {
         this.daysHungry = daysHungry;
+        Changed();
     }
     public boolean isAlive() {
         return alive;
     }
     public void setAlive(boolean alive) {
         this.alive = alive;
+        Changed();
     }
 
     public boolean isDead() {
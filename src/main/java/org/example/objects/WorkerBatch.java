@@ -0,0 +1,53 @@
+package org.example.objects;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Workers waiting to be admitted to a village together, as name and
+ * occupation pairs in the order they should be added.
+ */
+public final class WorkerBatch {
+    private String[] names;
+    private String[] occupations;
+    private int size = 0;
+
+    public WorkerBatch() {
+        this(16);
+    }
+    public WorkerBatch(int initialCapacity) {
+        names = new String[Math.max(initialCapacity, 1)];
+        occupations = new String[names.length];
+    }
+
+    /**
+     * Collects a stream of name and occupation pairs into a batch.
+     */
+    public static WorkerBatch Of(Stream<? extends Map.Entry<String, String>> workers) {
+        WorkerBatch batch = new WorkerBatch();
+        workers.forEachOrdered(worker -> batch.add(worker.getKey(), worker.getValue()));
+        return batch;
+    }
+
+    public WorkerBatch add(String name, String occupation) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size + (size >> 1) + 1);
+            occupations = Arrays.copyOf(occupations, names.length);
+        }
+        names[size] = name;
+        occupations[size] = occupation;
+        size++;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+    public String getName(int index) {
+        return names[index];
+    }
+    public String getOccupation(int index) {
+        return occupations[index];
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.objects;
+
+import org.example.interfaces.IWorkerStore;
+
+/**
+ * Running totals over the workers of a village: how many are alive, how many
+ * of those have gone hungry for a day or more, and how many living workers
+ * each occupation has. The village keeps them up to date as its workers are
+ * added, fed and starve, so reading them does not walk the workers.
+ */
+public final class WorkerCounts {
+    private int alive = 0;
+    private int hungry = 0;
+    private final int[] occupations = new int[Occupation.values().length];
+
+    /**
+     * Counts the workers of a store one by one.
+     */
+    public static WorkerCounts Count(IWorkerStore workers) {
+        WorkerCounts counts = new WorkerCounts();
+        for (int i = 0; i < workers.size(); i++) {
+            if (workers.isAlive(i)) {
+                counts.Count(workers.getOccupationType(i), workers.getDaysHungry(i) > 0);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Adds up counts that were taken over separate parts of a village.
+     */
+    public static WorkerCounts Sum(WorkerCounts[] parts) {
+        WorkerCounts sum = new WorkerCounts();
+        for (WorkerCounts part : parts) {
+            sum.alive += part.alive;
+            sum.hungry += part.hungry;
+            for (int i = 0; i < sum.occupations.length; i++) {
+                sum.occupations[i] += part.occupations[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Counts one living worker.
+     */
+    public void Count(Occupation occupation, boolean hungry) {
+        alive++;
+        occupations[occupation.ordinal()]++;
+        if (hungry) {
+            this.hungry++;
+        }
+    }
+
+    public void Added(Occupation occupation) {
+        Count(occupation, false);
+    }
+    /**
+     * A living worker has starved. {@code wasHungry} tells whether it was counted as hungry before.
+     */
+    public void Died(Occupation occupation, boolean wasHungry) {
+        alive--;
+        occupations[occupation.ordinal()]--;
+        if (wasHungry) {
+            hungry--;
+        }
+    }
+    /**
+     * A living worker has gone its first day without food.
+     */
+    public void Hungry() {
+        hungry++;
+    }
+    /**
+     * A hungry worker was fed.
+     */
+    public void Fed() {
+        hungry--;
+    }
+
+    public int getAlive() {
+        return alive;
+    }
+    public int getHungry() {
+        return hungry;
+    }
+    public int getOccupation(Occupation occupation) {
+        return occupations[occupation.ordinal()];
+    }
+}
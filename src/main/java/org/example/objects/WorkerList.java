@@ -0,0 +1,158 @@
+package org.example.objects;
+
+import org.example.interfaces.IVillageEventListener;
+import org.example.interfaces.IWorkerStore;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The default worker store: one {@link Worker} object per worker in an ArrayList.
+ */
+public class WorkerList implements IWorkerStore {
+    private final ArrayList<Worker> workers;
+    private ChangeTracker tracker;
+
+    public WorkerList() {
+        this(new ArrayList<>());
+    }
+    public WorkerList(ArrayList<Worker> workers) {
+        this.workers = workers;
+    }
+
+    @Override
+    public int size() {
+        return workers.size();
+    }
+    @Override
+    public void add(String name, Occupation occupation) {
+        Worker worker = new Worker(name, occupation);
+        worker.Track(tracker, workers.size());
+        workers.add(worker);
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        workers.ensureCapacity(capacity);
+    }
+
+    @Override
+    public String getName(int index) {
+        return workers.get(index).getName();
+    }
+    @Override
+    public String getOccupation(int index) {
+        return workers.get(index).getOccupation();
+    }
+    @Override
+    public Occupation getOccupationType(int index) {
+        return workers.get(index).getOccupationType();
+    }
+    @Override
+    public boolean isHungry(int index) {
+        return workers.get(index).isHungry();
+    }
+    @Override
+    public boolean isAlive(int index) {
+        return workers.get(index).isAlive();
+    }
+    @Override
+    public int getDaysHungry(int index) {
+        return workers.get(index).getDaysHungry();
+    }
+
+    @Override
+    public void Feed(int index) {
+        workers.get(index).Feed();
+    }
+    @Override
+    public boolean DoWork(int index, IVillageEventListener events, int daysUntilStarvation) {
+        return workers.get(index).DoWork(events, daysUntilStarvation);
+    }
+
+    @Override
+    public boolean WorkQuietly(int index, int daysUntilStarvation) {
+        return workers.get(index).WorkQuietly(daysUntilStarvation);
+    }
+
+    @Override
+    public void Starve(int index, int days, int daysUntilStarvation) {
+        workers.get(index).Starve(days, daysUntilStarvation);
+    }
+
+    @Override
+    public void setChangeTracker(ChangeTracker tracker) {
+        this.tracker = tracker;
+        for (int i = 0; i < workers.size(); i++) {
+            workers.get(i).Track(tracker, i);
+        }
+    }
+
+    /**
+     * The workers themselves, in a list that reports changes to the tracker.
+     * Adding a worker at the end tracks it like any new worker. Replacing,
+     * inserting or removing one moves the workers out from under the indexes
+     * their changes are tracked by, so that asks for the whole village to be saved.
+     */
+    @Override
+    public List<Worker> asList() {
+        return new TrackedList();
+    }
+
+    private class TrackedList extends AbstractList<Worker> implements RandomAccess {
+        @Override
+        public Worker get(int index) {
+            return workers.get(index);
+        }
+        @Override
+        public int size() {
+            return workers.size();
+        }
+        @Override
+        public Worker set(int index, Worker worker) {
+            Worker old = workers.set(index, worker);
+            Moved(index);
+            return old;
+        }
+        @Override
+        public void add(int index, Worker worker) {
+            workers.add(index, worker);
+            modCount++;
+            if (index == workers.size() - 1) {
+                worker.Track(tracker, index);
+            }
+            else {
+                Moved(index);
+            }
+        }
+        @Override
+        public Worker remove(int index) {
+            Worker removed = workers.remove(index);
+            modCount++;
+            removed.Track(null, 0);
+            Moved(index);
+            return removed;
+        }
+        @Override
+        protected void removeRange(int from, int to) {
+            List<Worker> removed = workers.subList(from, to);
+            for (Worker worker : removed) {
+                worker.Track(null, 0);
+            }
+            removed.clear();
+            modCount++;
+            Moved(from);
+        }
+
+        private void Moved(int from) {
+            for (int i = from; i < workers.size(); i++) {
+                workers.get(i).Track(tracker, i);
+            }
+            if (tracker != null) {
+                tracker.MarkRebase();
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.objects;
+
+import org.example.interfaces.IVillageEventListener;
+import org.example.interfaces.IWorkerStore;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact worker store for very large villages. Worker state is kept in
+ * primitive parallel arrays instead of one object per worker, and each
+ * occupation is stored as its byte {@link Occupation#getCode() code}.
+ * A day tick over the table does not allocate anything per worker.
+ */
+public class WorkerTable implements IWorkerStore {
+    private static final byte HUNGRY = 1;
+    private static final byte ALIVE = 2;
+
+    private String[] names;
+    private byte[] occupations;
+    private byte[] states;
+    private int[] daysHungry;
+    private int size = 0;
+    private ChangeTracker tracker;
+
+    public WorkerTable() {
+        this(16);
+    }
+    public WorkerTable(int initialCapacity) {
+        names = new String[initialCapacity];
+        occupations = new byte[initialCapacity];
+        states = new byte[initialCapacity];
+        daysHungry = new int[initialCapacity];
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity <= names.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, names.length + (names.length >> 1));
+        names = Arrays.copyOf(names, newCapacity);
+        occupations = Arrays.copyOf(occupations, newCapacity);
+        states = Arrays.copyOf(states, newCapacity);
+        daysHungry = Arrays.copyOf(daysHungry, newCapacity);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+    @Override
+    public void add(String name, Occupation occupation) {
+        add(name, occupation.getCode(), false, true, 0);
+    }
+    private void add(String name, byte occupation, boolean hungry, boolean alive, int daysHungry) {
+        ensureCapacity(size + 1);
+        names[size] = name;
+        occupations[size] = occupation;
+        states[size] = state(hungry, alive);
+        this.daysHungry[size] = daysHungry;
+        size++;
+    }
+
+    private static byte state(boolean hungry, boolean alive) {
+        return (byte) ((hungry ? HUNGRY : 0) | (alive ? ALIVE : 0));
+    }
+
+    @Override
+    public String getName(int index) {
+        return names[index];
+    }
+    @Override
+    public String getOccupation(int index) {
+        return getOccupationType(index).getName();
+    }
+    @Override
+    public Occupation getOccupationType(int index) {
+        return Occupation.FromCode(occupations[index]);
+    }
+    @Override
+    public boolean isHungry(int index) {
+        return (states[index] & HUNGRY) != 0;
+    }
+    @Override
+    public boolean isAlive(int index) {
+        return (states[index] & ALIVE) != 0;
+    }
+    @Override
+    public int getDaysHungry(int index) {
+        return daysHungry[index];
+    }
+
+    @Override
+    public void Feed(int index) {
+        if (isAlive(index)) {
+            daysHungry[index] = 0;
+            states[index] &= ~HUNGRY;
+        }
+    }
+    @Override
+    public boolean DoWork(int index, IVillageEventListener events, int daysUntilStarvation) {
+        byte state = states[index];
+        if ((state & ALIVE) == 0) {
+            events.DeadWorkerIdle(names[index]);
+            return false;
+        }
+        if ((state & HUNGRY) == 0) {
+            states[index] |= HUNGRY;
+            return true;
+        }
+        daysHungry[index]++;
+        if (daysHungry[index] >= daysUntilStarvation) {
+            states[index] &= ~ALIVE;
+            events.WorkerStarved(names[index]);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean WorkQuietly(int index, int daysUntilStarvation) {
+        byte state = states[index];
+        if ((state & ALIVE) == 0) {
+            return false;
+        }
+        if ((state & HUNGRY) == 0) {
+            states[index] |= HUNGRY;
+            return true;
+        }
+        daysHungry[index]++;
+        if (daysHungry[index] >= daysUntilStarvation) {
+            states[index] &= ~ALIVE;
+        }
+        return false;
+    }
+
+    @Override
+    public void Starve(int index, int days, int daysUntilStarvation) {
+        if ((states[index] & ALIVE) == 0 || days <= 0) {
+            return;
+        }
+        daysHungry[index] += Math.min(days, Math.max(daysUntilStarvation - daysHungry[index], 1));
+        if (daysHungry[index] >= daysUntilStarvation) {
+            states[index] &= ~ALIVE;
+        }
+    }
+
+    @Override
+    public void setChangeTracker(ChangeTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public List<Worker> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Worker get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                TableWorker worker = new TableWorker(index);
+                worker.Track(tracker, index);
+                return worker;
+            }
+            @Override
+            public int size() {
+                return size;
+            }
+            @Override
+            public boolean add(Worker worker) {
+                WorkerTable.this.add(worker.getName(), worker.getOccupationType().getCode(),
+                        worker.isHungry(), worker.isAlive(), worker.getDaysHungry());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * A {@link Worker} that reads and writes one row of the table.
+     */
+    private class TableWorker extends Worker {
+        private final int index;
+
+        private TableWorker(int index) {
+            super(null, null);
+            this.index = index;
+        }
+
+        @Override
+        public boolean DoWork(IVillageEventListener events, int daysUntilStarvation) {
+            return WorkerTable.this.DoWork(index, events, daysUntilStarvation);
+        }
+        @Override
+        public boolean WorkQuietly(int daysUntilStarvation) {
+            return WorkerTable.this.WorkQuietly(index, daysUntilStarvation);
+        }
+        @Override
+        public void Starve(int days, int daysUntilStarvation) {
+            WorkerTable.this.Starve(index, days, daysUntilStarvation);
+        }
+        @Override
+        public void Feed() {
+            WorkerTable.this.Feed(index);
+        }
+
+        @Override
+        public String getName() {
+            return names[index];
+        }
+        @Override
+        public void setName(String name) {
+            names[index] = name;
+            IdentityChanged();
+        }
+        @Override
+        public String getOccupation() {
+            return WorkerTable.this.getOccupation(index);
+        }
+        @Override
+        public Occupation getOccupationType() {
+            return WorkerTable.this.getOccupationType(index);
+        }
+        @Override
+        public void setOccupation(Occupation occupation) {
+            occupations[index] = occupation.getCode();
+            IdentityChanged();
+        }
+        @Override
+        public boolean isHungry() {
+            return WorkerTable.this.isHungry(index);
+        }
+        @Override
+        public void setHungry(boolean hungry) {
+            states[index] = state(hungry, isAlive());
+            Changed();
+        }
+        @Override
+        public int getDaysHungry() {
+            return daysHungry[index];
+        }
+        @Override
+        public void setDaysHungry(int daysHungry) {
+            WorkerTable.this.daysHungry[index] = daysHungry;
+            Changed();
+        }
+        @Override
+        public boolean isAlive() {
+            return WorkerTable.this.isAlive(index);
+        }
+        @Override
+        public void setAlive(boolean alive) {
+            states[index] = state(isHungry(), alive);
+            Changed();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.simulation;
+
+import java.util.List;
+
+/**
+ * The outcomes of a batch run together with how fast it ran.
+ */
+public class BatchResult {
+    private final List<VillageOutcome> outcomes;
+    private final long elapsedNanos;
+    private final long totalDays;
+
+    public BatchResult(List<VillageOutcome> outcomes, long elapsedNanos) {
+        this.outcomes = outcomes;
+        this.elapsedNanos = elapsedNanos;
+        long days = 0;
+        for (VillageOutcome outcome : outcomes) {
+            days += outcome.getDaysSimulated();
+        }
+        this.totalDays = days;
+    }
+
+    public List<VillageOutcome> getOutcomes() {
+        return outcomes;
+    }
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    public long getTotalDays() {
+        return totalDays;
+    }
+    public double getVillagesPerSecond() {
+        return outcomes.size() / seconds();
+    }
+    public double getDaysPerSecond() {
+        return totalDays / seconds();
+    }
+
+    private double seconds() {
+        return Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+    }
+}
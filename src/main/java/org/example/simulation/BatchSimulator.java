@@ -0,0 +1,83 @@
+package org.example.simulation;
+
+import org.example.Village;
+import org.example.events.NoOpEventSink;
+import org.example.interfaces.IVillageStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+
+/**
+ * Runs many independent villages at the same time on a ForkJoinPool.
+ * Every village is simulated by a single thread with its own state, so
+ * villages never see each other. Narration is switched off.
+ */
+public class BatchSimulator {
+    private final ForkJoinPool pool;
+
+    public BatchSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+    public BatchSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Simulates {@code villages} villages made by {@code factory}. Each one is
+     * played by {@code strategy} until the game is over or {@code maxDays} have
+     * gone. The outcomes are returned in village order.
+     */
+    public BatchResult Run(int villages, IntFunction<Village> factory, IVillageStrategy strategy, int maxDays) {
+        long start = System.nanoTime();
+        List<ForkJoinTask<VillageOutcome>> tasks = new ArrayList<>(villages);
+        for (int i = 0; i < villages; i++) {
+            int index = i;
+            tasks.add(pool.submit(() -> Simulate(index, factory.apply(index), strategy, maxDays)));
+        }
+        List<VillageOutcome> outcomes = new ArrayList<>(villages);
+        for (ForkJoinTask<VillageOutcome> task : tasks) {
+            outcomes.add(task.join());
+        }
+        return new BatchResult(outcomes, System.nanoTime() - start);
+    }
+
+    static VillageOutcome Simulate(int index, Village village, IVillageStrategy strategy, int maxDays) {
+        OutcomeListener listener = new OutcomeListener();
+        village.setEventListener(listener);
+        int peakFood = village.getFood();
+        int peakWood = village.getWood();
+        int peakMetal = village.getMetal();
+        int days = 0;
+        while (!village.isGameOver() && days < maxDays) {
+            strategy.BeforeDay(village);
+            village.Day();
+            days++;
+            peakFood = Math.max(peakFood, village.getFood());
+            peakWood = Math.max(peakWood, village.getWood());
+            peakMetal = Math.max(peakMetal, village.getMetal());
+        }
+        return new VillageOutcome(index, days, listener.daysToCastle, listener.daysUntilAllDied, peakFood, peakWood, peakMetal);
+    }
+
+    /**
+     * Ignores the narration but remembers how the game ended.
+     */
+    private static class OutcomeListener extends NoOpEventSink {
+        private int daysToCastle = -1;
+        private int daysUntilAllDied = -1;
+
+        @Override
+        public void CastleCompleted(int daysGone) {
+            daysToCastle = daysGone;
+        }
+        @Override
+        public void EveryoneDied(int daysGone) {
+            if (daysUntilAllDied < 0) {
+                daysUntilAllDied = daysGone;
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.simulation;
+
+import org.example.objects.BuilderPolicy;
+import org.example.objects.Project;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Puts a day's builder effort into several projects at once, spread by a
+ * {@link BuilderPolicy}. Projects are built through
+ * {@link Project#BuildOn(int)}, so crews on different threads can share a
+ * project. Finished projects are only marked here; completing them is left to
+ * the village, on its own thread.
+ */
+public class BuilderCrews {
+    // Below this much effort, spreading it over threads costs more than it saves.
+    private static final int PARALLEL_EFFORT = 4096;
+
+    private final ForkJoinPool pool;
+
+    public BuilderCrews(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Spreads {@code effort} builds over {@code projects} and returns how much effort was used.
+     */
+    public long Work(Project[] projects, int effort, BuilderPolicy policy) {
+        if (projects.length == 0 || effort <= 0) {
+            return 0;
+        }
+        boolean parallel = effort >= PARALLEL_EFFORT && projects.length > 1;
+        return switch (policy) {
+            case SINGLE_HEAD -> Queue(projects, effort);
+            case ROUND_ROBIN -> RoundRobin(projects, effort, parallel);
+            case WORK_STEALING -> parallel ? WorkStealing(projects, effort) : Queue(projects, effort);
+        };
+    }
+
+    /**
+     * Finishes the projects one after another in queue order.
+     */
+    private static long Queue(Project[] projects, int effort) {
+        long used = 0;
+        for (Project project : projects) {
+            if (used == effort) {
+                break;
+            }
+            used += project.BuildOn((int) (effort - used));
+        }
+        return used;
+    }
+
+    /**
+     * Deals the effort out in rounds. In every round the k-th unit of effort
+     * goes to the k-th unfinished project, counting round the list.
+     * Every round but the last finishes at least one project.
+     */
+    private long RoundRobin(Project[] projects, int effort, boolean parallel) {
+        long used = 0;
+        Project[] open = projects;
+        while (used < effort) {
+            Project[] round = open;
+            int left = (int) (effort - used);
+            long roundUsed = parallel
+                    ? pool.submit(() -> IntStream.range(0, round.length).parallel()
+                            .mapToLong(i -> round[i].BuildOn(Share(left, round.length, i))).sum()).join()
+                    : IntStream.range(0, round.length).mapToLong(i -> round[i].BuildOn(Share(left, round.length, i))).sum();
+            used += roundUsed;
+            open = Arrays.stream(round).filter(project -> !project.isFinished()).toArray(Project[]::new);
+            if (open.length == 0 || roundUsed == 0) {
+                break;
+            }
+        }
+        return used;
+    }
+
+    private static int Share(int effort, int projects, int index) {
+        return effort / projects + (index < effort % projects ? 1 : 0);
+    }
+
+    /**
+     * One crew per thread. Crews claim projects in queue order, and once every
+     * project is claimed they help out on whatever is not finished yet.
+     */
+    private long WorkStealing(Project[] projects, int effort) {
+        int crews = Math.min(pool.getParallelism(), projects.length);
+        AtomicInteger nextProject = new AtomicInteger(0);
+        AtomicLong used = new AtomicLong(0);
+        pool.submit(() -> IntStream.range(0, crews).parallel().forEach(crew -> {
+            int left = Share(effort, crews, crew);
+            while (left > 0) {
+                int claimed = nextProject.getAndIncrement();
+                if (claimed >= projects.length) {
+                    break;
+                }
+                left -= projects[claimed].BuildOn(left);
+            }
+            for (int i = 0; i < projects.length && left > 0; i++) {
+                left -= projects[i].BuildOn(left);
+            }
+            used.addAndGet(Share(effort, crews, crew) - left);
+        })).join();
+        return used.get();
+    }
+}
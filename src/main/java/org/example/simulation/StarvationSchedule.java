@@ -0,0 +1,142 @@
+package org.example.simulation;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A timing wheel of the days on which unfed workers will starve. A worker is
+ * scheduled with the day from which its hunger is no longer written to the
+ * worker store and the days it had been hungry until then; the wheel files it
+ * under the day it will die if it is not fed before. Each day only the bucket
+ * for that day is looked at.
+ *
+ * A worker whose death lies further ahead than the wheel reaches, which only
+ * happens if its days hungry were set below zero, is filed under the last day
+ * the wheel does reach; the caller finds it still alive then and schedules it
+ * again.
+ *
+ * Feeding a worker cancels it lazily: the worker is marked as no longer
+ * scheduled and its stale entry in the wheel is skipped when its day comes.
+ * A worker cancelled and scheduled again for the same day has two entries in
+ * that day's bucket, so whoever walks a bucket takes each worker off the
+ * schedule as it is passed on, and the second entry is skipped as stale.
+ *
+ * The schedule also remembers a cutoff: every worker at or after it is either
+ * dead or scheduled, so a quiet day does not have to look at those workers.
+ */
+public class StarvationSchedule {
+    private static final int NOT_SCHEDULED = -1;
+
+    private final int daysUntilStarvation;
+    private final int[] starts;
+    private final int[] deadlines;
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    private int starving = 0;
+    private int cutoff;
+
+    /**
+     * @param workers number of workers in the village; no worker may be added while the schedule is in use
+     */
+    public StarvationSchedule(int workers, int daysUntilStarvation) {
+        this.daysUntilStarvation = daysUntilStarvation;
+        starts = new int[workers];
+        deadlines = new int[workers];
+        Arrays.fill(starts, NOT_SCHEDULED);
+        // A worker is never scheduled to die more than daysUntilStarvation days ahead.
+        buckets = new int[Math.max(daysUntilStarvation, 1) + 1][];
+        bucketSizes = new int[buckets.length];
+        cutoff = workers;
+    }
+
+    /**
+     * Schedules worker {@code index}, who had been hungry for {@code daysHungry}
+     * days at the end of the day before {@code start} and gets no food from then on.
+     */
+    public void Schedule(int index, int start, int daysHungry) {
+        int deadline = start + Math.min(Math.max(daysUntilStarvation - daysHungry, 1), buckets.length - 1) - 1;
+        if (starts[index] == NOT_SCHEDULED) {
+            starving++;
+        }
+        starts[index] = start;
+        deadlines[index] = deadline;
+        int bucket = Math.floorMod(deadline, buckets.length);
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new int[8];
+        }
+        else if (bucketSizes[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+        }
+        buckets[bucket][bucketSizes[bucket]++] = index;
+    }
+
+    /**
+     * Takes worker {@code index} off the schedule, as when it is fed. Does nothing if it is not scheduled.
+     */
+    public void Cancel(int index) {
+        if (starts[index] != NOT_SCHEDULED) {
+            starts[index] = NOT_SCHEDULED;
+            starving--;
+        }
+    }
+
+    /**
+     * Takes the workers that starve on {@code day} off the schedule and passes each one to {@code starve}.
+     * {@link #getStart(int)} still gives the worker's start while it is passed
+     * on, and {@code starve} may schedule the worker again.
+     */
+    public void Due(int day, IntConsumer starve) {
+        int bucket = Math.floorMod(day, buckets.length);
+        int[] due = buckets[bucket];
+        int size = bucketSizes[bucket];
+        bucketSizes[bucket] = 0;
+        for (int i = 0; i < size; i++) {
+            int index = due[i];
+            if (starts[index] != NOT_SCHEDULED && deadlines[index] == day) {
+                starve.accept(index);
+                if (deadlines[index] == day) {
+                    Cancel(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes every scheduled worker off the schedule and passes it to {@code action} once.
+     * {@link #getStart(int)} still gives the worker's start while it is passed on.
+     */
+    public void ForEachScheduled(IntConsumer action) {
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            for (int i = 0; i < bucketSizes[bucket]; i++) {
+                int index = buckets[bucket][i];
+                if (starts[index] != NOT_SCHEDULED && Math.floorMod(deadlines[index], buckets.length) == bucket) {
+                    action.accept(index);
+                    Cancel(index);
+                }
+            }
+            bucketSizes[bucket] = 0;
+        }
+    }
+
+    public boolean isScheduled(int index) {
+        return starts[index] != NOT_SCHEDULED;
+    }
+    /**
+     * The first day whose hunger has not been written to the store for worker {@code index}.
+     */
+    public int getStart(int index) {
+        return starts[index];
+    }
+    /**
+     * Number of scheduled workers. They are all alive, and none of them is fed.
+     */
+    public int getStarving() {
+        return starving;
+    }
+    public int getCutoff() {
+        return cutoff;
+    }
+    public void setCutoff(int cutoff) {
+        this.cutoff = cutoff;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.simulation;
+
+/**
+ * How one simulated village ended up.
+ */
+public class VillageOutcome {
+    private final int index;
+    private final int daysSimulated;
+    private final int daysToCastle;
+    private final int daysUntilAllDied;
+    private final int peakFood;
+    private final int peakWood;
+    private final int peakMetal;
+
+    public VillageOutcome(int index, int daysSimulated, int daysToCastle, int daysUntilAllDied, int peakFood, int peakWood, int peakMetal) {
+        this.index = index;
+        this.daysSimulated = daysSimulated;
+        this.daysToCastle = daysToCastle;
+        this.daysUntilAllDied = daysUntilAllDied;
+        this.peakFood = peakFood;
+        this.peakWood = peakWood;
+        this.peakMetal = peakMetal;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+    public int getDaysSimulated() {
+        return daysSimulated;
+    }
+    /**
+     * The day the castle was completed, or -1 if it never was.
+     */
+    public int getDaysToCastle() {
+        return daysToCastle;
+    }
+    /**
+     * The day the last worker died, or -1 if someone survived.
+     */
+    public int getDaysUntilAllDied() {
+        return daysUntilAllDied;
+    }
+    public boolean hasCastle() {
+        return daysToCastle >= 0;
+    }
+    public boolean allDied() {
+        return daysUntilAllDied >= 0;
+    }
+    public int getPeakFood() {
+        return peakFood;
+    }
+    public int getPeakWood() {
+        return peakWood;
+    }
+    public int getPeakMetal() {
+        return peakMetal;
+    }
+}
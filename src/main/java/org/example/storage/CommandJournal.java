@@ -0,0 +1,207 @@
+package org.example.storage;
+
+import org.example.Village;
+import org.example.events.NoOpEventSink;
+import org.example.interfaces.IVillageEventListener;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the commands given to a village, so the village can be rebuilt by
+ * replaying them. A command is a few bytes appended to the journal: which
+ * command it was and the names that were typed in for it.
+ *
+ * Every so often the village is written as a {@link VillageSnapshot} next to
+ * the journal and the journal starts over, so a replay never has to run more
+ * than that many commands on top of the snapshot. A village that already
+ * has a state when its commands start being journaled needs a
+ * {@link #Checkpoint(Village)} first, or a replay starts from a new village.
+ */
+public class CommandJournal implements Closeable {
+    private static final byte ADD_WORKER = 1;
+    private static final byte ADD_PROJECT = 2;
+    private static final byte DAY = 3;
+    private static final byte GAME_OVER = 4;
+
+    private final Path path;
+    private final Path snapshotPath;
+    private final int checkpointEvery;
+    private DataOutputStream out;
+    private int commands = 0;
+
+    public CommandJournal(Path path) {
+        this(path, 1000);
+    }
+    /**
+     * Commands already in the journal count towards the next checkpoint.
+     *
+     * @param checkpointEvery number of commands after which {@link #CheckpointIfDue(Village)} writes a snapshot
+     */
+    public CommandJournal(Path path, int checkpointEvery) {
+        this.path = path;
+        this.snapshotPath = path.resolveSibling(path.getFileName() + ".snapshot");
+        this.checkpointEvery = checkpointEvery;
+        try {
+            commands = CountCommands(path);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Could not read the command journal " + path + ".", e);
+        }
+    }
+
+    public void AddWorker(String name, String occupation) {
+        Append(ADD_WORKER, name, occupation);
+    }
+    public void AddProject(String name) {
+        Append(ADD_PROJECT, name);
+    }
+    public void Day() {
+        Append(DAY);
+    }
+    public void GameOver() {
+        Append(GAME_OVER);
+    }
+
+    /**
+     * Writes the village as the new starting point and empties the journal.
+     */
+    public void Checkpoint(Village village) {
+        try {
+            close();
+            Path written = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".new");
+            VillageSnapshot.Write(village, written);
+            try (FileChannel channel = FileChannel.open(written, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(written, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(path);
+            commands = 0;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Could not checkpoint the command journal " + path + ".", e);
+        }
+    }
+    public void CheckpointIfDue(Village village) {
+        if (commands >= checkpointEvery) {
+            Checkpoint(village);
+        }
+    }
+
+    /**
+     * Rebuilds the village from the last checkpoint and the commands after it.
+     * Nothing is printed while the commands run. A command that was cut short
+     * is dropped, and new commands are appended after the last whole one.
+     */
+    public Village Replay() throws IOException {
+        close();
+        Village village = Files.exists(snapshotPath) ? VillageSnapshot.Load(snapshotPath) : new Village();
+        IVillageEventListener events = village.getEventListener();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        commands = 0;
+        if (Files.exists(path)) {
+            byte[] bytes = Files.readAllBytes(path);
+            ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
+            DataInputStream in = new DataInputStream(stream);
+            int valid = 0;
+            while (stream.available() > 0) {
+                try {
+                    Apply(village, in);
+                }
+                catch (IOException e) {
+                    break;
+                }
+                valid = bytes.length - stream.available();
+                commands++;
+            }
+            if (valid < bytes.length) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                }
+            }
+        }
+        village.setEventListener(events);
+        return village;
+    }
+
+    private static void Apply(Village village, DataInputStream in) throws IOException {
+        byte command = in.readByte();
+        switch (command) {
+            case ADD_WORKER -> {
+                String name = in.readUTF();
+                String occupation = in.readUTF();
+                village.addWorker(name, occupation);
+            }
+            case ADD_PROJECT -> village.addProject(in.readUTF());
+            case DAY -> village.Day();
+            case GAME_OVER -> village.GameOver();
+            default -> throw new IOException("Unknown journal command " + command + ".");
+        }
+    }
+
+    /**
+     * Number of whole commands in the journal at {@code path}, without running them.
+     */
+    private static int CountCommands(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)));
+        int count = 0;
+        while (in.available() > 0) {
+            try {
+                byte command = in.readByte();
+                switch (command) {
+                    case ADD_WORKER -> {
+                        in.readUTF();
+                        in.readUTF();
+                    }
+                    case ADD_PROJECT -> in.readUTF();
+                    case DAY, GAME_OVER -> { }
+                    default -> throw new IOException("Unknown journal command " + command + ".");
+                }
+            }
+            catch (IOException e) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void Append(byte command, String... arguments) {
+        try {
+            if (out == null) {
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)));
+            }
+            out.writeByte(command);
+            for (String argument : arguments) {
+                out.writeUTF(argument);
+            }
+            out.flush();
+            commands++;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Could not write to the command journal " + path + ".", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package org.example.storage;
+
+import org.example.Village;
+import org.example.interfaces.IVillageStorage;
+import org.example.interfaces.IWorkerStore;
+import org.example.objects.BuildingInventory;
+import org.example.objects.ChangeTracker;
+import org.example.objects.Occupation;
+import org.example.objects.Project;
+import org.example.objects.ResourceLedger;
+import org.example.objects.Worker;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Stores each village as a snapshot plus a file of deltas. A save only
+ * appends what changed since the previous save, as recorded by the
+ * village's {@link ChangeTracker}: the changed fields, the changed workers
+ * and, if they changed, the buildings and projects.
+ *
+ * The first save of a village, and any save after a change a delta cannot
+ * describe, writes a whole new {@link VillageSnapshot}. Once a village has
+ * collected enough deltas, a background thread folds them into a new
+ * snapshot, so loading never has to replay a long chain. Compaction reads
+ * and writes without holding the storage's lock, which it only takes to
+ * swap the new snapshot in, so saves and loads do not wait for it.
+ *
+ * A delta that was cut short by a crash fails its checksum and is ignored
+ * together with everything after it.
+ */
+public class DeltaVillageStorage implements IVillageStorage, Closeable {
+    private static final int MAGIC = 0x56444C54;
+    private static final int HEADER_SIZE = 12;
+    private static final String SNAPSHOT = ".snapshot";
+    private static final String DELTA = ".delta";
+    private static final byte HUNGRY = 1;
+    private static final byte ALIVE = 2;
+    // Set in the field mask of deltas that write resources as longs. Older deltas wrote them as ints.
+    private static final int WIDE = 1 << 31;
+
+    private final Path directory;
+    private final int compactAfter;
+    private final HashMap<String, Integer> deltaCounts = new HashMap<>();
+    // Raised every time a village's snapshot is replaced, so a compaction can tell its snapshot is out of date.
+    private final HashMap<String, Integer> generations = new HashMap<>();
+    private final HashSet<String> compacting = new HashSet<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "village-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DeltaVillageStorage(Path directory) {
+        this(directory, 64);
+    }
+    /**
+     * @param compactAfter number of deltas a village may collect before they are folded into its snapshot
+     */
+    public DeltaVillageStorage(Path directory, int compactAfter) {
+        this.directory = directory;
+        this.compactAfter = compactAfter;
+        CountDeltas();
+    }
+
+    @Override
+    public synchronized ArrayList<String> GetTownNames() {
+        ArrayList<String> names = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return names;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SNAPSHOT)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                names.add(URLDecoder.decode(fileName.substring(0, fileName.length() - SNAPSHOT.length()), StandardCharsets.UTF_8));
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Could not list village storage " + directory + ".", e);
+        }
+        names.sort(null);
+        return names;
+    }
+
+    @Override
+    public synchronized Village LoadVillage(String name) {
+        try {
+            Village village = Restore(name);
+            if (village != null) {
+                village.TrackChanges().Saved(name, village.getWorkerCount());
+            }
+            return village;
+        }
+        catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized boolean SaveVillage(Village village, String name) {
+        try {
+            ChangeTracker changes = village.getChangeTracker();
+            if (changes == null || changes.isRebase() || !name.equals(changes.getSavedName())
+                    || !Files.exists(SnapshotPath(name))) {
+                WriteSnapshot(village, name);
+            }
+            else {
+                AppendDelta(village, changes, name);
+            }
+            village.TrackChanges().Saved(name, village.getWorkerCount());
+            return true;
+        }
+        catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Folds the deltas of a village into a new snapshot. Deltas saved while
+     * the snapshot is written are kept to be replayed on top of it, and if
+     * the village was saved whole in the meantime the new snapshot is dropped.
+     */
+    public void Compact(String name) throws IOException {
+        int generation;
+        synchronized (this) {
+            generation = generations.getOrDefault(name, 0);
+        }
+        Path snapshot = SnapshotPath(name);
+        if (!Files.exists(snapshot)) {
+            return;
+        }
+        Path compacted = snapshot.resolveSibling(snapshot.getFileName() + ".compact");
+        try {
+            Village village = VillageSnapshot.Load(snapshot);
+            // Read without cutting off a torn tail, which may be a delta that is being appended right now.
+            List<byte[]> deltas = new ArrayList<>();
+            long folded = ReadDeltas(DeltaPath(name), deltas, false);
+            for (byte[] delta : deltas) {
+                ApplyDelta(village, new DataInputStream(new ByteArrayInputStream(delta)));
+            }
+            WriteSnapshotFile(village, compacted);
+            synchronized (this) {
+                if (generations.getOrDefault(name, 0) != generation) {
+                    return;
+                }
+                Path delta = DeltaPath(name);
+                byte[] rest = ReadFrom(delta, folded);
+                Files.move(compacted, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                if (rest.length == 0) {
+                    Files.deleteIfExists(delta);
+                }
+                else {
+                    Path kept = delta.resolveSibling(delta.getFileName() + ".new");
+                    Files.write(kept, rest);
+                    try (FileChannel channel = FileChannel.open(kept, StandardOpenOption.WRITE)) {
+                        channel.force(true);
+                    }
+                    Files.move(kept, delta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                generations.merge(name, 1, Integer::sum);
+                deltaCounts.put(name, Math.max(deltaCounts.getOrDefault(name, 0) - deltas.size(), 0));
+            }
+        }
+        finally {
+            Files.deleteIfExists(compacted);
+        }
+    }
+
+    /**
+     * Waits for a running compaction to finish and stops the background thread.
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Village Restore(String name) throws IOException {
+        Path snapshot = SnapshotPath(name);
+        if (!Files.exists(snapshot)) {
+            return null;
+        }
+        Village village = VillageSnapshot.Load(snapshot);
+        List<byte[]> deltas = new ArrayList<>();
+        ReadDeltas(DeltaPath(name), deltas, true);
+        for (byte[] delta : deltas) {
+            ApplyDelta(village, new DataInputStream(new ByteArrayInputStream(delta)));
+        }
+        deltaCounts.put(name, deltas.size());
+        return village;
+    }
+
+    /**
+     * Writes the snapshot next to the old one and moves it into place, then drops the deltas it replaces.
+     */
+    private void WriteSnapshot(Village village, String name) throws IOException {
+        Files.createDirectories(directory);
+        Path snapshot = SnapshotPath(name);
+        Path written = snapshot.resolveSibling(snapshot.getFileName() + ".new");
+        WriteSnapshotFile(village, written);
+        Files.move(written, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(DeltaPath(name));
+        deltaCounts.remove(name);
+        generations.merge(name, 1, Integer::sum);
+    }
+
+    private static void WriteSnapshotFile(Village village, Path path) throws IOException {
+        VillageSnapshot.Write(village, path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private void AppendDelta(Village village, ChangeTracker changes, String name) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WriteDelta(village, changes, new DataOutputStream(bytes));
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        record.putInt(MAGIC).putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        try (FileChannel channel = FileChannel.open(DeltaPath(name), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(true);
+        }
+        int count = deltaCounts.merge(name, 1, Integer::sum);
+        if (count >= compactAfter && compacting.add(name)) {
+            compactor.execute(() -> {
+                try {
+                    Compact(name);
+                }
+                catch (IOException e) {
+                    // The deltas are still there, the next save will try again.
+                }
+                finally {
+                    synchronized (this) {
+                        compacting.remove(name);
+                    }
+                }
+            });
+        }
+    }
+
+    private static void WriteDelta(Village village, ChangeTracker changes, DataOutputStream out) throws IOException {
+        int fields = changes.getFields();
+        ResourceLedger resources = village.getResources();
+        out.writeInt(fields | WIDE);
+        if ((fields & ChangeTracker.GAME_OVER) != 0) out.writeBoolean(village.isGameOver());
+        if ((fields & ChangeTracker.FOOD) != 0) out.writeLong(resources.getFood());
+        if ((fields & ChangeTracker.WOOD) != 0) out.writeLong(resources.getWood());
+        if ((fields & ChangeTracker.METAL) != 0) out.writeLong(resources.getMetal());
+        if ((fields & ChangeTracker.FOOD_PER_DAY) != 0) out.writeLong(resources.getFoodPerDay());
+        if ((fields & ChangeTracker.WOOD_PER_DAY) != 0) out.writeLong(resources.getWoodPerDay());
+        if ((fields & ChangeTracker.METAL_PER_DAY) != 0) out.writeLong(resources.getMetalPerDay());
+        if ((fields & ChangeTracker.MAX_WORKERS) != 0) out.writeLong(resources.getMaxWorkers());
+        if ((fields & ChangeTracker.DAYS_GONE) != 0) out.writeInt(village.getDaysGone());
+        if ((fields & ChangeTracker.DAYS_UNTIL_STARVATION) != 0) out.writeInt(village.getDaysUntilStarvation());
+        if ((fields & ChangeTracker.AGGREGATE_DAY) != 0) out.writeBoolean(village.isAggregateDay());
+
+        // Every worker added since the last save is written, whether or not it was marked.
+        IWorkerStore workers = village.getSettledWorkers();
+        int saved = Math.min(changes.getSavedWorkers(), workers.size());
+        BitSet dirty = changes.getWorkers();
+        out.writeInt(workers.size());
+        out.writeInt(dirty.get(0, saved).cardinality());
+        for (int i = dirty.nextSetBit(0); i >= 0 && i < saved; i = dirty.nextSetBit(i + 1)) {
+            out.writeInt(i);
+            WriteWorkerState(workers, i, out);
+        }
+        for (int i = saved; i < workers.size(); i++) {
+            out.writeUTF(workers.getName(i));
+            out.writeUTF(workers.getOccupation(i));
+            WriteWorkerState(workers, i, out);
+        }
+
+        out.writeBoolean(changes.isBuildingsChanged());
+        if (changes.isBuildingsChanged()) {
+            BuildingInventory buildings = village.getBuildingInventory();
+            out.writeInt(buildings.size());
+            for (int run = 0; run < buildings.getRunCount(); run++) {
+                for (int i = 0; i < buildings.getRunLength(run); i++) {
+                    out.writeUTF(buildings.getRunName(run));
+                }
+            }
+        }
+        out.writeBoolean(changes.isProjectsChanged());
+        if (changes.isProjectsChanged()) {
+            List<Project> projects = village.getProjects();
+            out.writeInt(projects.size());
+            for (Project project : projects) {
+                out.writeUTF(project.getName());
+                out.writeInt(project.getDaysLeft());
+            }
+        }
+    }
+
+    private static void WriteWorkerState(IWorkerStore workers, int index, DataOutputStream out) throws IOException {
+        out.writeByte((workers.isHungry(index) ? HUNGRY : 0) | (workers.isAlive(index) ? ALIVE : 0));
+        out.writeInt(workers.getDaysHungry(index));
+    }
+
+    private static void ApplyDelta(Village village, DataInputStream in) throws IOException {
+        int fields = in.readInt();
+        boolean wide = (fields & WIDE) != 0;
+        ResourceLedger resources = village.getResources();
+        if ((fields & ChangeTracker.GAME_OVER) != 0) village.setGameOver(in.readBoolean());
+        if ((fields & ChangeTracker.FOOD) != 0) resources.setFood(ReadCount(in, wide));
+        if ((fields & ChangeTracker.WOOD) != 0) resources.setWood(ReadCount(in, wide));
+        if ((fields & ChangeTracker.METAL) != 0) resources.setMetal(ReadCount(in, wide));
+        if ((fields & ChangeTracker.FOOD_PER_DAY) != 0) resources.setFoodPerDay(ReadCount(in, wide));
+        if ((fields & ChangeTracker.WOOD_PER_DAY) != 0) resources.setWoodPerDay(ReadCount(in, wide));
+        if ((fields & ChangeTracker.METAL_PER_DAY) != 0) resources.setMetalPerDay(ReadCount(in, wide));
+        if ((fields & ChangeTracker.MAX_WORKERS) != 0) resources.setMaxWorkers(ReadCount(in, wide));
+        if ((fields & ChangeTracker.DAYS_GONE) != 0) village.setDaysGone(in.readInt());
+        if ((fields & ChangeTracker.DAYS_UNTIL_STARVATION) != 0) village.setDaysUntilStarvation(in.readInt());
+        if ((fields & ChangeTracker.AGGREGATE_DAY) != 0) village.setAggregateDay(in.readBoolean());
+
+        List<Worker> workers = village.getWorkers();
+        int count = in.readInt();
+        int changed = in.readInt();
+        for (int i = 0; i < changed; i++) {
+            Worker worker = workers.get(in.readInt());
+            byte state = in.readByte();
+            worker.setHungry((state & HUNGRY) != 0);
+            worker.setAlive((state & ALIVE) != 0);
+            worker.setDaysHungry(in.readInt());
+        }
+        while (workers.size() < count) {
+            String name = in.readUTF();
+            String occupation = in.readUTF();
+            Occupation type = Occupation.Parse(occupation);
+            if (type == null) {
+                throw new IOException("Unknown occupation " + occupation + ".");
+            }
+            byte state = in.readByte();
+            workers.add(new Worker(name, type, (state & HUNGRY) != 0, (state & ALIVE) != 0, in.readInt()));
+        }
+
+        if (in.readBoolean()) {
+            BuildingInventory inventory = village.getBuildingInventory();
+            inventory.clear();
+            int buildings = in.readInt();
+            for (int i = 0; i < buildings; i++) {
+                inventory.add(in.readUTF());
+            }
+        }
+        if (in.readBoolean()) {
+            village.getProjects().clear();
+            int projects = in.readInt();
+            for (int i = 0; i < projects; i++) {
+                String name = in.readUTF();
+                int daysLeft = in.readInt();
+                Project project = village.NewProject(name);
+                if (project == null) {
+                    project = new Project(name, daysLeft, () -> { });
+                }
+                project.setDaysLeft(daysLeft);
+                village.getProjects().add(project);
+            }
+        }
+    }
+
+    private static long ReadCount(DataInputStream in, boolean wide) throws IOException {
+        return wide ? in.readLong() : in.readInt();
+    }
+
+    /**
+     * Adds the deltas that are intact to {@code deltas} and returns the length
+     * of the file they take up. With {@code cut}, a torn tail is cut off, so
+     * later deltas are appended after the last good one.
+     */
+    private static long ReadDeltas(Path path, List<byte[]> deltas, boolean cut) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+        int valid = 0;
+        while (file.remaining() >= HEADER_SIZE) {
+            int magic = file.getInt();
+            int length = file.getInt();
+            int checksum = file.getInt();
+            if (magic != MAGIC || length < 0 || length > file.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            file.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            deltas.add(payload);
+            valid = file.position();
+        }
+        if (cut && valid < file.limit()) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * The bytes of a file from {@code position} on, none if it is missing.
+     */
+    private static byte[] ReadFrom(Path path, long position) throws IOException {
+        if (!Files.exists(path)) {
+            return new byte[0];
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer rest = ByteBuffer.allocate((int) Math.max(channel.size() - position, 0));
+            ReadFully(channel, rest, position);
+            return rest.array();
+        }
+    }
+
+    /**
+     * Counts the deltas already saved for each village, by their headers, so
+     * villages that collected deltas before the storage was opened are still
+     * compacted in time.
+     */
+    private void CountDeltas() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + DELTA)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String name = URLDecoder.decode(fileName.substring(0, fileName.length() - DELTA.length()), StandardCharsets.UTF_8);
+                deltaCounts.put(name, CountRecords(file));
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Could not list village storage " + directory + ".", e);
+        }
+    }
+
+    private static int CountRecords(Path path) throws IOException {
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            long position = 0;
+            long size = channel.size();
+            while (size - position >= HEADER_SIZE) {
+                header.clear();
+                ReadFully(channel, header, position);
+                int length = header.getInt(4);
+                if (header.getInt(0) != MAGIC || length < 0 || length > size - position - HEADER_SIZE) {
+                    break;
+                }
+                position += HEADER_SIZE + length;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void ReadFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of village deltas.");
+            }
+        }
+    }
+
+    private Path SnapshotPath(String name) {
+        return directory.resolve(URLEncoder.encode(name, StandardCharsets.UTF_8) + SNAPSHOT);
+    }
+    private Path DeltaPath(String name) {
+        return directory.resolve(URLEncoder.encode(name, StandardCharsets.UTF_8) + DELTA);
+    }
+}
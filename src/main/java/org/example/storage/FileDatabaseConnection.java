@@ -0,0 +1,44 @@
+package org.example.storage;
+
+import org.example.DatabaseConnection;
+import org.example.Village;
+import org.example.interfaces.IVillageStorage;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * A {@link DatabaseConnection} that actually saves and loads, by handing
+ * every call to an {@link IVillageStorage}.
+ */
+public class FileDatabaseConnection extends DatabaseConnection {
+    public static final Path DEFAULT_PATH = Path.of("villages.db");
+
+    private final IVillageStorage storage;
+
+    public FileDatabaseConnection() {
+        this(new LogVillageStorage(DEFAULT_PATH));
+    }
+    public FileDatabaseConnection(IVillageStorage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public ArrayList<String> GetTownNames() {
+        return storage.GetTownNames();
+    }
+
+    @Override
+    public Village LoadVillage(String choice) {
+        return storage.LoadVillage(choice);
+    }
+
+    @Override
+    public boolean SaveVillage(Village village, String choice) {
+        return storage.SaveVillage(village, choice);
+    }
+
+    public IVillageStorage getStorage() {
+        return storage;
+    }
+}
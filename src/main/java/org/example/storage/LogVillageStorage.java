@@ -0,0 +1,228 @@
+package org.example.storage;
+
+import org.example.Village;
+import org.example.interfaces.IVillageStorage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Stores villages in a single append-only log file. Every save appends a
+ * record and the newest record for a name wins. An in-memory index from
+ * town name to record position makes a load a single positional read.
+ *
+ * A record is only added to the index after it has been forced to disk.
+ * When the file is opened, a record that was cut short by a crash fails its
+ * checksum and is cut off together with everything after it.
+ */
+public class LogVillageStorage implements IVillageStorage, Closeable {
+    private static final int MAGIC = 0x56494C47;
+    private static final int HEADER_SIZE = 16;
+
+    private final Path path;
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>();
+    private FileChannel channel;
+
+    public LogVillageStorage(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public synchronized ArrayList<String> GetTownNames() {
+        try {
+            Open();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Could not open village storage " + path + ".", e);
+        }
+        return new ArrayList<>(index.keySet());
+    }
+
+    @Override
+    public synchronized Village LoadVillage(String name) {
+        try {
+            Open();
+            Entry entry = index.get(name);
+            if (entry == null) {
+                return null;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(entry.length);
+            ReadFully(channel, payload, entry.offset);
+            return VillageCodec.Read(new DataInputStream(new ByteArrayInputStream(payload.array())));
+        }
+        catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized boolean SaveVillage(Village village, String name) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long size;
+        try {
+            Open();
+            VillageCodec.Write(village, new DataOutputStream(bytes));
+            size = channel.size();
+        }
+        catch (IOException e) {
+            return false;
+        }
+        try {
+            Entry entry = Append(channel, name, bytes.toByteArray());
+            channel.force(true);
+            index.put(name, entry);
+            return true;
+        }
+        catch (IOException e) {
+            Rollback(size);
+            return false;
+        }
+    }
+
+    /**
+     * Cuts off what a failed save wrote after {@code size}, so the next save
+     * does not land behind a torn record and get dropped with it when the
+     * file is next opened. If even that fails, the file is closed, and opening
+     * it again cuts the torn record off.
+     */
+    private void Rollback(long size) {
+        try {
+            channel.truncate(size);
+            channel.force(true);
+        }
+        catch (IOException e) {
+            try {
+                close();
+            }
+            catch (IOException ignored) {
+                channel = null;
+                index.clear();
+            }
+        }
+    }
+
+    /**
+     * Rewrites the log with only the newest record for each town, then
+     * swaps it in place of the old file in one atomic move.
+     */
+    public synchronized void Compact() throws IOException {
+        Open();
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        LinkedHashMap<String, Entry> newIndex = new LinkedHashMap<>();
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, Entry> town : index.entrySet()) {
+                ByteBuffer payload = ByteBuffer.allocate(town.getValue().length);
+                ReadFully(channel, payload, town.getValue().offset);
+                newIndex.put(town.getKey(), Append(out, town.getKey(), payload.array()));
+            }
+            out.force(true);
+        }
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+        index.putAll(newIndex);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            index.clear();
+        }
+    }
+
+    private void Open() throws IOException {
+        if (channel != null) {
+            return;
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long position = 0;
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (position + HEADER_SIZE <= size) {
+                header.clear();
+                ReadFully(channel, header, position);
+                header.flip();
+                int magic = header.getInt();
+                int nameLength = header.getInt();
+                int payloadLength = header.getInt();
+                int checksum = header.getInt();
+                long end = position + HEADER_SIZE + (long) nameLength + payloadLength;
+                if (magic != MAGIC || nameLength < 0 || payloadLength < 0 || end > size) {
+                    break;
+                }
+                ByteBuffer body = ByteBuffer.allocate(nameLength + payloadLength);
+                ReadFully(channel, body, position + HEADER_SIZE);
+                CRC32 crc = new CRC32();
+                crc.update(body.array());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                String name = new String(body.array(), 0, nameLength, StandardCharsets.UTF_8);
+                index.put(name, new Entry(position + HEADER_SIZE + nameLength, payloadLength));
+                position = end;
+            }
+            if (position < size) {
+                channel.truncate(position);
+                channel.force(true);
+            }
+        }
+        catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private static Entry Append(FileChannel channel, String name, byte[] payload) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(nameBytes);
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + nameBytes.length + payload.length);
+        record.putInt(MAGIC).putInt(nameBytes.length).putInt(payload.length).putInt((int) crc.getValue());
+        record.put(nameBytes).put(payload).flip();
+        long position = channel.size();
+        while (record.hasRemaining()) {
+            channel.write(record, position + record.position());
+        }
+        return new Entry(position + HEADER_SIZE + nameBytes.length, payload.length);
+    }
+
+    private static void ReadFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of village storage.");
+            }
+        }
+    }
+
+    private static class Entry {
+        private final long offset;
+        private final int length;
+
+        private Entry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package org.example.storage;
+
+import org.example.interfaces.IVillageEventListener;
+import org.example.interfaces.IWorkerStore;
+import org.example.objects.ChangeTracker;
+import org.example.objects.Occupation;
+import org.example.objects.Worker;
+import org.example.objects.WorkerTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * A worker store that reads the worker columns of a snapshot straight out of
+ * a mapped file. Nothing is decoded up front: state is read from the buffer
+ * when it is asked for, and names are decoded the first time they are needed.
+ * The buffer is mapped read-only. The first change to a worker copies the
+ * hunger and life columns onto the heap, and from then on they are read and
+ * changed there, so the file is never written to. Workers added after loading are kept in an ordinary {@link WorkerTable}.
+ */
+public class MappedWorkerStore implements IWorkerStore {
+    private static final byte HUNGRY = 1;
+    private static final byte ALIVE = 2;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int nameOffsetsPosition;
+    private final int nameDataPosition;
+    private final int occupationPosition;
+    // Views of the mapped columns until the first change, copies of them after it.
+    private ByteBuffer states;
+    private ByteBuffer daysHungry;
+    // Volatile, since a parallel day changes workers from several threads and the first of them copies the columns.
+    private volatile boolean copied = false;
+    // The snapshot's string table, which a worker's occupation byte indexes, and the occupation of each entry.
+    // Building and project names share the table and have no occupation.
+    private final String[] strings;
+    private final Occupation[] occupations;
+    private final WorkerTable added = new WorkerTable();
+    private String[] names;
+    private ChangeTracker tracker;
+
+    MappedWorkerStore(ByteBuffer buffer, int count, int nameOffsetsPosition, int nameDataPosition, int occupationPosition,
+                      int statePosition, int daysHungryPosition, String[] strings) {
+        this.buffer = buffer;
+        this.count = count;
+        this.nameOffsetsPosition = nameOffsetsPosition;
+        this.nameDataPosition = nameDataPosition;
+        this.occupationPosition = occupationPosition;
+        this.states = buffer.slice(statePosition, count);
+        this.daysHungry = buffer.slice(daysHungryPosition, 4 * count);
+        this.strings = strings;
+        occupations = new Occupation[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            occupations[i] = Occupation.Parse(strings[i]);
+        }
+    }
+
+    @Override
+    public int size() {
+        return count + added.size();
+    }
+    @Override
+    public void add(String name, Occupation occupation) {
+        added.add(name, occupation);
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        added.ensureCapacity(capacity - count);
+    }
+
+    @Override
+    public String getName(int index) {
+        if (index >= count) {
+            return added.getName(index - count);
+        }
+        if (names == null) {
+            names = new String[count];
+        }
+        String name = names[index];
+        if (name == null) {
+            int start = buffer.getInt(nameOffsetsPosition + 4 * index);
+            int end = buffer.getInt(nameOffsetsPosition + 4 * (index + 1));
+            byte[] bytes = new byte[end - start];
+            buffer.get(nameDataPosition + start, bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+            names[index] = name;
+        }
+        return name;
+    }
+    @Override
+    public String getOccupation(int index) {
+        return getOccupationType(index).getName();
+    }
+    /**
+     * Checked here rather than when the snapshot is opened, so opening it does
+     * not read every worker. A worker whose occupation is not one throws an
+     * {@link UncheckedIOException}, as the snapshot is damaged.
+     */
+    @Override
+    public Occupation getOccupationType(int index) {
+        if (index >= count) {
+            return added.getOccupationType(index - count);
+        }
+        int occupation = buffer.get(occupationPosition + index);
+        if (occupation < 0 || occupation >= occupations.length || occupations[occupation] == null) {
+            throw new UncheckedIOException(new IOException("Worker " + index + " has an unknown occupation "
+                    + (occupation >= 0 && occupation < strings.length ? strings[occupation] : occupation) + "."));
+        }
+        return occupations[occupation];
+    }
+    @Override
+    public boolean isHungry(int index) {
+        if (index >= count) {
+            return added.isHungry(index - count);
+        }
+        return (state(index) & HUNGRY) != 0;
+    }
+    @Override
+    public boolean isAlive(int index) {
+        if (index >= count) {
+            return added.isAlive(index - count);
+        }
+        return (state(index) & ALIVE) != 0;
+    }
+    @Override
+    public int getDaysHungry(int index) {
+        if (index >= count) {
+            return added.getDaysHungry(index - count);
+        }
+        return daysHungry.getInt(4 * index);
+    }
+
+    private byte state(int index) {
+        return states.get(index);
+    }
+    private void setState(int index, boolean hungry, boolean alive) {
+        Copy();
+        states.put(index, (byte) ((hungry ? HUNGRY : 0) | (alive ? ALIVE : 0)));
+    }
+    private void setDaysHungry(int index, int daysHungry) {
+        Copy();
+        this.daysHungry.putInt(4 * index, daysHungry);
+    }
+
+    /**
+     * Copies the columns that change before the first change, so it does not
+     * reach the read-only mapping. Only one thread copies; the others wait for
+     * it and then see the copies. A thread that only reads may still read the
+     * mapping, which holds the same values for every worker nobody has changed.
+     */
+    private void Copy() {
+        if (copied) {
+            return;
+        }
+        synchronized (this) {
+            if (!copied) {
+                states = ByteBuffer.allocate(states.capacity()).put(0, states, 0, states.capacity());
+                daysHungry = ByteBuffer.allocate(daysHungry.capacity()).put(0, daysHungry, 0, daysHungry.capacity());
+                copied = true;
+            }
+        }
+    }
+
+    @Override
+    public void Feed(int index) {
+        if (index >= count) {
+            added.Feed(index - count);
+        }
+        else if (isAlive(index)) {
+            setDaysHungry(index, 0);
+            setState(index, false, true);
+        }
+    }
+    @Override
+    public boolean DoWork(int index, IVillageEventListener events, int daysUntilStarvation) {
+        if (index >= count) {
+            return added.DoWork(index - count, events, daysUntilStarvation);
+        }
+        if (!isAlive(index)) {
+            events.DeadWorkerIdle(getName(index));
+            return false;
+        }
+        if (WorkQuietly(index, daysUntilStarvation)) {
+            return true;
+        }
+        if (!isAlive(index)) {
+            events.WorkerStarved(getName(index));
+        }
+        return false;
+    }
+    @Override
+    public boolean WorkQuietly(int index, int daysUntilStarvation) {
+        if (index >= count) {
+            return added.WorkQuietly(index - count, daysUntilStarvation);
+        }
+        if (!isAlive(index)) {
+            return false;
+        }
+        if (!isHungry(index)) {
+            setState(index, true, true);
+            return true;
+        }
+        int daysHungry = getDaysHungry(index) + 1;
+        setDaysHungry(index, daysHungry);
+        if (daysHungry >= daysUntilStarvation) {
+            setState(index, true, false);
+        }
+        return false;
+    }
+
+    @Override
+    public void Starve(int index, int days, int daysUntilStarvation) {
+        if (index >= count) {
+            added.Starve(index - count, days, daysUntilStarvation);
+            return;
+        }
+        if (!isAlive(index) || days <= 0) {
+            return;
+        }
+        int daysHungry = getDaysHungry(index);
+        daysHungry += Math.min(days, Math.max(daysUntilStarvation - daysHungry, 1));
+        setDaysHungry(index, daysHungry);
+        if (daysHungry >= daysUntilStarvation) {
+            setState(index, true, false);
+        }
+    }
+
+    @Override
+    public void setChangeTracker(ChangeTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public List<Worker> asList() {
+        List<Worker> addedList = added.asList();
+        return new AbstractList<>() {
+            @Override
+            public Worker get(int index) {
+                if (index < 0 || index >= size()) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                Worker worker = index < count ? new MappedWorker(index) : addedList.get(index - count);
+                worker.Track(tracker, index);
+                return worker;
+            }
+            @Override
+            public int size() {
+                return MappedWorkerStore.this.size();
+            }
+            @Override
+            public boolean add(Worker worker) {
+                return addedList.add(worker);
+            }
+        };
+    }
+
+    /**
+     * A {@link Worker} that reads and writes one row of the mapped columns.
+     * The name and occupation are fixed by the snapshot.
+     */
+    private class MappedWorker extends Worker {
+        private final int index;
+
+        private MappedWorker(int index) {
+            super(null, null);
+            this.index = index;
+        }
+
+        @Override
+        public boolean DoWork(IVillageEventListener events, int daysUntilStarvation) {
+            return MappedWorkerStore.this.DoWork(index, events, daysUntilStarvation);
+        }
+        @Override
+        public boolean WorkQuietly(int daysUntilStarvation) {
+            return MappedWorkerStore.this.WorkQuietly(index, daysUntilStarvation);
+        }
+        @Override
+        public void Starve(int days, int daysUntilStarvation) {
+            MappedWorkerStore.this.Starve(index, days, daysUntilStarvation);
+        }
+        @Override
+        public void Feed() {
+            MappedWorkerStore.this.Feed(index);
+        }
+
+        @Override
+        public String getName() {
+            return MappedWorkerStore.this.getName(index);
+        }
+        @Override
+        public void setName(String name) {
+            throw new UnsupportedOperationException("Names of loaded workers cannot be changed.");
+        }
+        @Override
+        public String getOccupation() {
+            return MappedWorkerStore.this.getOccupation(index);
+        }
+        @Override
+        public Occupation getOccupationType() {
+            return MappedWorkerStore.this.getOccupationType(index);
+        }
+        @Override
+        public void setOccupation(Occupation occupation) {
+            throw new UnsupportedOperationException("Occupations of loaded workers cannot be changed.");
+        }
+        @Override
+        public boolean isHungry() {
+            return MappedWorkerStore.this.isHungry(index);
+        }
+        @Override
+        public void setHungry(boolean hungry) {
+            setState(index, hungry, isAlive());
+            Changed();
+        }
+        @Override
+        public int getDaysHungry() {
+            return MappedWorkerStore.this.getDaysHungry(index);
+        }
+        @Override
+        public void setDaysHungry(int daysHungry) {
+            MappedWorkerStore.this.setDaysHungry(index, daysHungry);
+            Changed();
+        }
+        @Override
+        public boolean isAlive() {
+            return MappedWorkerStore.this.isAlive(index);
+        }
+        @Override
+        public void setAlive(boolean alive) {
+            setState(index, isHungry(), alive);
+            Changed();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.storage;
+
+import org.example.Village;
+import org.example.interfaces.IWorkerStore;
+import org.example.objects.BuildingInventory;
+import org.example.objects.Occupation;
+import org.example.objects.Project;
+import org.example.objects.ResourceLedger;
+import org.example.objects.Worker;
+import org.example.objects.WorkerTable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the full state of a village to a stream and reads it back.
+ * Occupation and completion actions are not stored; they are looked up
+ * again by occupation and project name when the village is read.
+ * Version 2 stores resources, rates and max workers as longs; version 1
+ * stored them as ints and can still be read.
+ */
+public class VillageCodec {
+    public static final int FORMAT_VERSION = 2;
+
+    private static final byte WORKER_LIST = 0;
+    private static final byte WORKER_TABLE = 1;
+
+    public static void Write(Village village, DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeBoolean(village.isGameOver());
+        ResourceLedger resources = village.getResources();
+        out.writeLong(resources.getFood());
+        out.writeLong(resources.getWood());
+        out.writeLong(resources.getMetal());
+        out.writeLong(resources.getFoodPerDay());
+        out.writeLong(resources.getWoodPerDay());
+        out.writeLong(resources.getMetalPerDay());
+        out.writeLong(resources.getMaxWorkers());
+        out.writeInt(village.getDaysGone());
+        out.writeInt(village.getDaysUntilStarvation());
+        out.writeBoolean(village.isAggregateDay());
+
+        // Read through the settled store, so saving keeps the village's worker counts.
+        IWorkerStore workers = village.getSettledWorkers();
+        out.writeByte(workers instanceof WorkerTable ? WORKER_TABLE : WORKER_LIST);
+        out.writeInt(workers.size());
+        for (int i = 0; i < workers.size(); i++) {
+            out.writeUTF(workers.getName(i));
+            out.writeUTF(workers.getOccupation(i));
+            out.writeBoolean(workers.isHungry(i));
+            out.writeBoolean(workers.isAlive(i));
+            out.writeInt(workers.getDaysHungry(i));
+        }
+
+        BuildingInventory buildings = village.getBuildingInventory();
+        out.writeInt(buildings.size());
+        for (int run = 0; run < buildings.getRunCount(); run++) {
+            for (int i = 0; i < buildings.getRunLength(run); i++) {
+                out.writeUTF(buildings.getRunName(run));
+            }
+        }
+
+        List<Project> projects = village.getProjects();
+        out.writeInt(projects.size());
+        for (Project project : projects) {
+            out.writeUTF(project.getName());
+            out.writeInt(project.getDaysLeft());
+        }
+    }
+
+    public static Village Read(DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != 1 && version != FORMAT_VERSION) {
+            throw new IOException("Unknown village format version " + version + ".");
+        }
+        boolean wide = version >= 2;
+        boolean gameOver = in.readBoolean();
+        long food = wide ? in.readLong() : in.readInt();
+        long wood = wide ? in.readLong() : in.readInt();
+        long metal = wide ? in.readLong() : in.readInt();
+        long foodPerDay = wide ? in.readLong() : in.readInt();
+        long woodPerDay = wide ? in.readLong() : in.readInt();
+        long metalPerDay = wide ? in.readLong() : in.readInt();
+        long maxWorkers = wide ? in.readLong() : in.readInt();
+        int daysGone = in.readInt();
+        int daysUntilStarvation = in.readInt();
+        boolean aggregateDay = in.readBoolean();
+
+        byte store = in.readByte();
+        int workers = in.readInt();
+        Village village = store == WORKER_TABLE ? new Village(new WorkerTable(Math.max(workers, 1))) : new Village();
+        village.setGameOver(gameOver);
+        ResourceLedger resources = village.getResources();
+        resources.setFood(food);
+        resources.setWood(wood);
+        resources.setMetal(metal);
+        resources.setFoodPerDay(foodPerDay);
+        resources.setWoodPerDay(woodPerDay);
+        resources.setMetalPerDay(metalPerDay);
+        resources.setMaxWorkers(maxWorkers);
+        village.setDaysGone(daysGone);
+        village.setDaysUntilStarvation(daysUntilStarvation);
+        village.setAggregateDay(aggregateDay);
+
+        List<Worker> workerList = village.getWorkers();
+        for (int i = 0; i < workers; i++) {
+            String name = in.readUTF();
+            String occupation = in.readUTF();
+            boolean hungry = in.readBoolean();
+            boolean alive = in.readBoolean();
+            int daysHungry = in.readInt();
+            Occupation type = Occupation.Parse(occupation);
+            if (type == null) {
+                throw new IOException("Unknown occupation " + occupation + ".");
+            }
+            workerList.add(new Worker(name, type, hungry, alive, daysHungry));
+        }
+
+        int buildings = in.readInt();
+        BuildingInventory inventory = village.getBuildingInventory();
+        inventory.clear();
+        for (int i = 0; i < buildings; i++) {
+            inventory.add(in.readUTF());
+        }
+
+        int projects = in.readInt();
+        for (int i = 0; i < projects; i++) {
+            String name = in.readUTF();
+            int daysLeft = in.readInt();
+            Project project = village.NewProject(name);
+            if (project == null) {
+                project = new Project(name, daysLeft, () -> { });
+            }
+            project.setDaysLeft(daysLeft);
+            village.getProjects().add(project);
+        }
+        return village;
+    }
+}
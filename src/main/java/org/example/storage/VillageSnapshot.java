@@ -0,0 +1,254 @@
+package org.example.storage;
+
+import org.example.Village;
+import org.example.interfaces.IWorkerStore;
+import org.example.objects.BuildingInventory;
+import org.example.objects.Project;
+import org.example.objects.ResourceLedger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A binary snapshot of a village, laid out so that it can be opened by
+ * mapping the file instead of parsing it.
+ *
+ * <pre>
+ * header         192 bytes: magic, version, village fields, worker count, section positions
+ * string table   occupation, building and project names
+ * name offsets   int per worker, plus one for the end
+ * name data      UTF-8 bytes of all worker names
+ * occupations    byte per worker, index into the string table
+ * states         byte per worker, hungry and alive flags
+ * days hungry    int per worker
+ * tail           buildings and projects
+ * </pre>
+ *
+ * Version 2 keeps resources, rates and max workers as longs. Version 1
+ * snapshots, with a 128-byte header of ints, can still be loaded.
+ */
+public class VillageSnapshot {
+    public static final int MAGIC = 0x56534E50;
+    public static final int VERSION = 2;
+
+    private static final int HEADER_SIZE = 192;
+    private static final int VERSION_1_HEADER_SIZE = 128;
+    private static final byte HUNGRY = 1;
+    private static final byte ALIVE = 2;
+
+    public static void Write(Village village, Path path) throws IOException {
+        IWorkerStore workers = village.getSettledWorkers();
+        int count = workers.size();
+
+        List<String> strings = new ArrayList<>();
+        byte[] occupations = new byte[count];
+        for (int i = 0; i < count; i++) {
+            occupations[i] = (byte) StringIndex(strings, workers.getOccupation(i));
+        }
+        ByteArrayOutputStream tailBytes = new ByteArrayOutputStream();
+        DataOutputStream tail = new DataOutputStream(tailBytes);
+        BuildingInventory buildings = village.getBuildingInventory();
+        tail.writeInt(buildings.size());
+        for (int run = 0; run < buildings.getRunCount(); run++) {
+            int name = StringIndex(strings, buildings.getRunName(run));
+            for (int i = 0; i < buildings.getRunLength(run); i++) {
+                tail.writeInt(name);
+            }
+        }
+        List<Project> projects = village.getProjects();
+        tail.writeInt(projects.size());
+        for (Project project : projects) {
+            tail.writeInt(StringIndex(strings, project.getName()));
+            tail.writeInt(project.getDaysLeft());
+        }
+        if (strings.size() > Byte.MAX_VALUE + 1) {
+            throw new IOException("Too many different names for a snapshot string table.");
+        }
+        ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+        DataOutputStream stringTable = new DataOutputStream(stringBytes);
+        stringTable.writeInt(strings.size());
+        for (String string : strings) {
+            stringTable.writeUTF(string);
+        }
+
+        long nameDataLength = 0;
+        for (int i = 0; i < count; i++) {
+            nameDataLength += workers.getName(i).getBytes(StandardCharsets.UTF_8).length;
+        }
+        long stringTablePosition = HEADER_SIZE;
+        long nameOffsetsPosition = stringTablePosition + stringBytes.size();
+        long nameDataPosition = nameOffsetsPosition + 4L * (count + 1);
+        long occupationPosition = nameDataPosition + nameDataLength;
+        long statePosition = occupationPosition + count;
+        long daysHungryPosition = statePosition + count;
+        long tailPosition = daysHungryPosition + 4L * count;
+        long end = tailPosition + tailBytes.size();
+        if (end > Integer.MAX_VALUE) {
+            throw new IOException("The village is too large for a single snapshot file.");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeBoolean(village.isGameOver());
+            out.writeBoolean(village.isAggregateDay());
+            out.writeShort(0);
+            out.writeInt(village.getDaysGone());
+            out.writeInt(village.getDaysUntilStarvation());
+            out.writeInt(count);
+            ResourceLedger resources = village.getResources();
+            out.writeLong(resources.getFood());
+            out.writeLong(resources.getWood());
+            out.writeLong(resources.getMetal());
+            out.writeLong(resources.getFoodPerDay());
+            out.writeLong(resources.getWoodPerDay());
+            out.writeLong(resources.getMetalPerDay());
+            out.writeLong(resources.getMaxWorkers());
+            out.writeLong(stringTablePosition);
+            out.writeLong(nameOffsetsPosition);
+            out.writeLong(nameDataPosition);
+            out.writeLong(occupationPosition);
+            out.writeLong(statePosition);
+            out.writeLong(daysHungryPosition);
+            out.writeLong(tailPosition);
+            out.writeLong(end);
+            out.write(new byte[HEADER_SIZE - out.size()]);
+
+            stringBytes.writeTo(out);
+            int offset = 0;
+            out.writeInt(offset);
+            for (int i = 0; i < count; i++) {
+                offset += workers.getName(i).getBytes(StandardCharsets.UTF_8).length;
+                out.writeInt(offset);
+            }
+            for (int i = 0; i < count; i++) {
+                out.write(workers.getName(i).getBytes(StandardCharsets.UTF_8));
+            }
+            out.write(occupations);
+            for (int i = 0; i < count; i++) {
+                out.writeByte((workers.isHungry(i) ? HUNGRY : 0) | (workers.isAlive(i) ? ALIVE : 0));
+            }
+            for (int i = 0; i < count; i++) {
+                out.writeInt(workers.getDaysHungry(i));
+            }
+            tailBytes.writeTo(out);
+        }
+    }
+
+    /**
+     * Opens a snapshot by mapping it. Only the header, the string table,
+     * buildings and projects are read; worker state stays in the mapped file
+     * until it is used.
+     */
+    public static Village Load(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        // The worker store copies the columns it changes, so the file can be mapped read-only.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < VERSION_1_HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a village snapshot.");
+        }
+        int version = buffer.getInt(4);
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unknown snapshot version " + version + ".");
+        }
+        boolean wide = version >= 2;
+        int count = buffer.getInt(wide ? 20 : 48);
+        int positions = wide ? 80 : 56;
+        int stringTablePosition = (int) buffer.getLong(positions);
+        int nameOffsetsPosition = (int) buffer.getLong(positions + 8);
+        int nameDataPosition = (int) buffer.getLong(positions + 16);
+        int occupationPosition = (int) buffer.getLong(positions + 24);
+        int statePosition = (int) buffer.getLong(positions + 32);
+        int daysHungryPosition = (int) buffer.getLong(positions + 40);
+        int tailPosition = (int) buffer.getLong(positions + 48);
+        int end = (int) buffer.getLong(positions + 56);
+
+        String[] strings;
+        try (DataInputStream in = Section(buffer, stringTablePosition, nameOffsetsPosition)) {
+            strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+        }
+
+        Village village = new Village(new MappedWorkerStore(buffer, count, nameOffsetsPosition, nameDataPosition,
+                occupationPosition, statePosition, daysHungryPosition, strings));
+
+        village.setGameOver(buffer.get(8) != 0);
+        village.setAggregateDay(buffer.get(9) != 0);
+        ResourceLedger resources = village.getResources();
+        if (wide) {
+            resources.setFood(buffer.getLong(24));
+            resources.setWood(buffer.getLong(32));
+            resources.setMetal(buffer.getLong(40));
+            resources.setFoodPerDay(buffer.getLong(48));
+            resources.setWoodPerDay(buffer.getLong(56));
+            resources.setMetalPerDay(buffer.getLong(64));
+            resources.setMaxWorkers(buffer.getLong(72));
+            village.setDaysGone(buffer.getInt(12));
+            village.setDaysUntilStarvation(buffer.getInt(16));
+        }
+        else {
+            resources.setFood(buffer.getInt(12));
+            resources.setWood(buffer.getInt(16));
+            resources.setMetal(buffer.getInt(20));
+            resources.setFoodPerDay(buffer.getInt(24));
+            resources.setWoodPerDay(buffer.getInt(28));
+            resources.setMetalPerDay(buffer.getInt(32));
+            resources.setMaxWorkers(buffer.getInt(36));
+            village.setDaysGone(buffer.getInt(40));
+            village.setDaysUntilStarvation(buffer.getInt(44));
+        }
+
+        try (DataInputStream in = Section(buffer, tailPosition, end)) {
+            BuildingInventory inventory = village.getBuildingInventory();
+            inventory.clear();
+            int buildings = in.readInt();
+            for (int i = 0; i < buildings; i++) {
+                inventory.add(strings[in.readInt()]);
+            }
+            int projects = in.readInt();
+            for (int i = 0; i < projects; i++) {
+                String name = strings[in.readInt()];
+                int daysLeft = in.readInt();
+                Project project = village.NewProject(name);
+                if (project == null) {
+                    project = new Project(name, daysLeft, () -> { });
+                }
+                project.setDaysLeft(daysLeft);
+                village.getProjects().add(project);
+            }
+        }
+        return village;
+    }
+
+    private static int StringIndex(List<String> strings, String string) {
+        int index = strings.indexOf(string);
+        if (index < 0) {
+            strings.add(string);
+            index = strings.size() - 1;
+        }
+        return index;
+    }
+
+    private static DataInputStream Section(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,83 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.interfaces.IVillageStrategy;
+import org.example.simulation.BatchResult;
+import org.example.simulation.BatchSimulator;
+import org.example.simulation.VillageOutcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchSimulatorTest {
+
+    // Fills the village with a mix of workers and queues whatever the resources allow, castle first.
+    private final IVillageStrategy strategy = village -> {
+        String[] occupations = {"farmer", "lumberjack", "miner", "builder", "farmer", "miner"};
+        int i = village.getWorkers().size();
+        while (!village.isFull()) {
+            village.addWorker("Worker" + i, occupations[i % occupations.length]);
+            i++;
+        }
+        if (village.getProjects().isEmpty() && !village.addProject("Castle")) {
+            village.addProject("House");
+        }
+    };
+
+    @Test
+    @DisplayName("Villages with different starvation limits run side by side without affecting each other.")
+    public void testVillagesAreIndependent() {
+        // Given:
+        // Even villages start without food and starve after 2 days, odd villages are fed and starve after 5.
+        BatchSimulator simulator = new BatchSimulator(new ForkJoinPool(4));
+
+        // When:
+        BatchResult result = simulator.Run(40, index -> {
+            Village village = new Village();
+            if (index % 2 == 0) {
+                village.setDaysUntilStarvation(2);
+                village.setFood(0);
+                village.setFoodPerDay(0);
+            }
+            return village;
+        }, strategy, 2000);
+
+        // Then:
+        // Every outcome matches a village simulated alone on this thread.
+        assertEquals(40, result.getOutcomes().size(), "There should be one outcome per village.");
+        for (VillageOutcome outcome : result.getOutcomes()) {
+            Village village = new Village();
+            if (outcome.getIndex() % 2 == 0) {
+                village.setDaysUntilStarvation(2);
+                village.setFood(0);
+                village.setFoodPerDay(0);
+            }
+            village.setEventListener(NoOpEventSink.INSTANCE);
+            int days = 0;
+            while (!village.isGameOver() && days < 2000) {
+                strategy.BeforeDay(village);
+                village.Day();
+                days++;
+            }
+            assertEquals(days, outcome.getDaysSimulated(), "Days simulated should match for village " + outcome.getIndex());
+            assertEquals(outcome.getIndex() % 2 == 0, outcome.allDied(), "Only the starving villages should die out.");
+        }
+        assertTrue(result.getDaysPerSecond() > 0, "Throughput should be reported.");
+    }
+
+    @Test
+    @DisplayName("A fed village reports the day its castle was completed.")
+    public void testCastleOutcome() {
+        // When:
+        BatchResult result = new BatchSimulator().Run(1, index -> new Village(), strategy, 5000);
+
+        // Then:
+        VillageOutcome outcome = result.getOutcomes().get(0);
+        assertTrue(outcome.hasCastle(), "The castle should be completed.");
+        assertFalse(outcome.allDied(), "The workers should survive.");
+        assertTrue(outcome.getPeakWood() >= 50, "Wood must have reached the castle cost.");
+    }
+}
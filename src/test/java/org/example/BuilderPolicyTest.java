@@ -0,0 +1,128 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.objects.BuilderPolicy;
+import org.example.objects.Project;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuilderPolicyTest {
+
+    private Village createVillage(BuilderPolicy policy, int builders, int houses) {
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setAggregateDay(true);
+        village.setBuilderPolicy(policy);
+        village.setPool(new ForkJoinPool(4));
+        village.setMaxWorkers(builders);
+        village.setFood(builders);
+        village.setWood(5 * houses);
+        for (int i = 0; i < builders; i++) {
+            village.addWorker("Builder" + i, "builder");
+        }
+        for (int i = 0; i < houses; i++) {
+            village.addProject("House");
+        }
+        return village;
+    }
+
+    @Test
+    @DisplayName("Round robin deals the builders of a day out over the queued projects in turn.")
+    public void testRoundRobin() {
+        // Given:
+        Village village = createVillage(BuilderPolicy.ROUND_ROBIN, 4, 3);
+
+        // When:
+        village.Day();
+
+        // Then:
+        // Four builders over three Houses of three days each: the first House gets two builds.
+        assertEquals(1, village.getProjects().get(0).getDaysLeft(), "The first House should get two builds.");
+        assertEquals(2, village.getProjects().get(1).getDaysLeft(), "The second House should get one build.");
+        assertEquals(2, village.getProjects().get(2).getDaysLeft(), "The third House should get one build.");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BuilderPolicy.class, names = {"ROUND_ROBIN", "WORK_STEALING"})
+    @DisplayName("Crews on several threads finish every project they have the effort for, each exactly once.")
+    public void testCrewsCompleteOnce(BuilderPolicy policy) {
+        // Given:
+        // 6000 builders and 2000 Houses of three days each: exactly enough effort for all of them.
+        Village village = createVillage(policy, 6000, 2000);
+        int maxWorkers = village.getMaxWorkers();
+        int buildings = village.getBuildings().size();
+
+        // When:
+        village.Day();
+
+        // Then:
+        assertTrue(village.getProjects().isEmpty(), "Every House should be finished.");
+        assertEquals(buildings + 2000, village.getBuildings().size(), "Every House should be built once.");
+        assertEquals(maxWorkers + 2 * 2000, village.getMaxWorkers(), "Every House should be completed once.");
+    }
+
+    @Test
+    @DisplayName("Work stealing spends all effort on unfinished projects when there is not enough for all of them.")
+    public void testWorkStealingSpendsAllEffort() {
+        // Given:
+        // 6000 builders and 2500 Houses that need 7500 builds in total.
+        Village village = createVillage(BuilderPolicy.WORK_STEALING, 6000, 2500);
+        int buildings = village.getBuildings().size();
+
+        // When:
+        village.Day();
+
+        // Then:
+        int daysLeft = 0;
+        for (Project project : village.getProjects()) {
+            daysLeft += project.getDaysLeft();
+        }
+        int finished = village.getBuildings().size() - buildings;
+        assertEquals(2500 - finished, village.getProjects().size(), "Finished Houses should leave the queue.");
+        assertEquals(1500, daysLeft, "All 6000 builds should go into Houses that were not finished.");
+    }
+
+    @Test
+    @DisplayName("A project's completion action runs only once.")
+    public void testCompleteOnce() {
+        // Given:
+        int[] completions = {0};
+        Project project = new Project("House", 1, () -> completions[0]++);
+
+        // When:
+        project.Complete();
+        project.Complete();
+
+        // Then:
+        assertEquals(1, completions[0], "The completion action should run once.");
+    }
+
+    @Test
+    @DisplayName("Builds on several threads put in exactly the work a project needs and leave it finished.")
+    public void testFinishedWithLastBuild() {
+        // Given:
+        Project project = new Project("House", 100_000, () -> { });
+        Project empty = new Project("Farm", 0, () -> { });
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // When:
+        long used = pool.submit(() -> IntStream.range(0, 200_000).parallel().mapToLong(i -> project.BuildOn(1)).sum()).join();
+
+        // Then:
+        assertEquals(100_000, used, "Builds after the project was finished should put in nothing.");
+        assertTrue(project.isFinished(), "The project should be finished.");
+        assertFalse(empty.isFinished(), "A project without days left is only finished by a build.");
+        assertEquals(1, empty.BuildOn(5), "Finishing a project without days left should take one build.");
+        assertTrue(empty.isFinished(), "The build should finish it.");
+        assertEquals(0, project.getDaysLeft(), "No more work than the project needed should be put in.");
+        project.setDaysLeft(0);
+        assertTrue(project.isFinished(), "Setting the days left should not unfinish the project.");
+    }
+}
@@ -0,0 +1,70 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.objects.BuildingCatalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildingCatalogTest {
+
+    private static BuildingCatalog Read(String text) throws IOException {
+        return BuildingCatalog.Read(new BufferedReader(new StringReader(text)));
+    }
+
+    @Test
+    @DisplayName("Villages share the default catalog, which holds the five standard buildings.")
+    public void testDefaultCatalogIsShared() {
+        // When:
+        Village first = new Village();
+        Village second = new Village();
+
+        // Then:
+        assertSame(first.getCatalog(), second.getCatalog(), "Villages should share one catalog.");
+        assertEquals(5, first.getPossibleProjects().size(), "The default catalog should hold five buildings.");
+        assertEquals(50, first.getPossibleProjects().get("Castle").getWoodCost(), "The Castle should cost 50 wood.");
+        assertThrows(UnsupportedOperationException.class, () -> first.getPossibleProjects().remove("Castle"),
+                "The catalog should not be changeable.");
+    }
+
+    @Test
+    @DisplayName("A building from a catalog file costs what the file says and has its effects when finished.")
+    public void testBuildingFromFile() throws IOException {
+        // Given:
+        BuildingCatalog catalog = Read("""
+                # A catalog with a single building.
+                Granary  2  1  1  foodPerDay+3 maxWorkers-1
+                """);
+        Village village = new Village(catalog);
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setWood(2);
+        village.setMetal(1);
+        village.addWorker("Bob", "builder");
+
+        // When:
+        boolean added = village.addProject("Granary");
+        village.Day();
+
+        // Then:
+        assertTrue(added, "The Granary should be added.");
+        assertEquals(0, village.getWood(), "The Granary should cost 2 wood.");
+        assertEquals(8, village.getFoodPerDay(), "The Granary should add 3 food per day.");
+        assertEquals(5, village.getMaxWorkers(), "The Granary should take one worker place.");
+        assertFalse(village.addProject("House"), "A House is not in this catalog.");
+    }
+
+    @Test
+    @DisplayName("A malformed catalog line is reported with its line number.")
+    public void testMalformedLine() {
+        // When:
+        IOException e = assertThrows(IOException.class, () -> Read("House 5 0 3 maxWorkers+2\nBarn 1 1 x\n"));
+
+        // Then:
+        assertTrue(e.getMessage().startsWith("Line 2:"), "The message should name the line.");
+    }
+}
@@ -0,0 +1,154 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.storage.CommandJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class CommandJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final InputStream originalSystemIn = System.in;
+    private final PrintStream originalSystemOut = System.out;
+
+    @AfterEach
+    public void afterEach() {
+        System.setIn(originalSystemIn);
+        System.setOut(originalSystemOut);
+    }
+
+    @Test
+    @DisplayName("Replaying the journal of a game rebuilds the village without printing anything.")
+    public void testReplayGame() throws IOException {
+        // Given:
+        // A game where two workers are added, a house is built and a few days pass.
+        String input = "1\nLars\nFarmer\n1\nArta\nBuilder\n2\nHouse\n3\n3\n3\n3\n3\n3\n6\n";
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        Path path = tempDir.resolve("village.journal");
+        Village village = new Village();
+        try (CommandJournal journal = new CommandJournal(path)) {
+            new VillageInput(village, mock(DatabaseConnection.class), journal).Run();
+        }
+        ByteArrayOutputStream replayOutput = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(replayOutput));
+
+        // When:
+        Village replayed = new CommandJournal(path).Replay();
+
+        // Then:
+        assertEquals("", replayOutput.toString(), "Nothing should be printed during the replay.");
+        assertTrue(replayed.isGameOver(), "The quit should be replayed.");
+        assertEquals(village.getDaysGone(), replayed.getDaysGone(), "Days gone should match.");
+        assertEquals(village.getFood(), replayed.getFood(), "Food should match.");
+        assertEquals(village.getWood(), replayed.getWood(), "Wood should match.");
+        assertEquals(village.getBuildings().size(), replayed.getBuildings().size(), "The house should be built.");
+        assertEquals(village.getWorkers().size(), replayed.getWorkers().size(), "Both workers should be added.");
+        assertTrue(Files.size(path) < 64, "The journal should only be a few bytes per command.");
+    }
+
+    @Test
+    @DisplayName("A replay starts from the last checkpoint and drops a command that was cut short.")
+    public void testCheckpointAndTornCommand() throws IOException {
+        // Given:
+        Path path = tempDir.resolve("village.journal");
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        try (CommandJournal journal = new CommandJournal(path, 3)) {
+            village.addWorker("Lars", "farmer");
+            journal.AddWorker("Lars", "farmer");
+            for (int i = 0; i < 4; i++) {
+                village.Day();
+                journal.Day();
+                journal.CheckpointIfDue(village);
+            }
+            journal.AddProject("Woodmill");
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 2));
+
+        // When:
+        CommandJournal journal = new CommandJournal(path, 3);
+        Village replayed = journal.Replay();
+        replayed.setEventListener(NoOpEventSink.INSTANCE);
+        journal.Day();
+        journal.close();
+        replayed.Day();
+        Village again = new CommandJournal(path, 3).Replay();
+
+        // Then:
+        assertTrue(Files.exists(tempDir.resolve("village.journal.snapshot")), "A checkpoint should have been written.");
+        assertEquals(village.getDaysGone(), replayed.getDaysGone() - 1, "The village should be at the last whole command.");
+        assertTrue(replayed.getProjects().isEmpty(), "The torn project command should be dropped.");
+        assertEquals(replayed.getDaysGone(), again.getDaysGone(), "A command after the torn one should replay.");
+        assertEquals(replayed.getFood(), again.getFood(), "Food should match after the second replay.");
+    }
+
+    @Test
+    @DisplayName("A village that had a state before its journal was attached replays from that state.")
+    public void testAttachToVillageWithState() throws IOException {
+        // Given:
+        System.setIn(new ByteArrayInputStream("3\n6\n".getBytes()));
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        Path path = tempDir.resolve("village.journal");
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setWood(40);
+        village.addWorker("Lars", "farmer");
+        village.Day();
+
+        // When:
+        try (CommandJournal journal = new CommandJournal(path)) {
+            new VillageInput(village, mock(DatabaseConnection.class), journal).Run();
+        }
+        Village replayed = new CommandJournal(path).Replay();
+
+        // Then:
+        assertEquals(village.getDaysGone(), replayed.getDaysGone(), "The days before the journal should be kept.");
+        assertEquals(village.getWood(), replayed.getWood(), "The wood set before the journal should be kept.");
+        assertEquals(1, replayed.getWorkers().size(), "The worker added before the journal should be kept.");
+    }
+
+    @Test
+    @DisplayName("A reopened journal counts the commands it already holds towards the next checkpoint.")
+    public void testReopenKeepsCommandCount() throws IOException {
+        // Given:
+        Path path = tempDir.resolve("village.journal");
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        try (CommandJournal journal = new CommandJournal(path, 3)) {
+            journal.Checkpoint(village);
+            village.addWorker("Lars", "farmer");
+            journal.AddWorker("Lars", "farmer");
+            village.Day();
+            journal.Day();
+        }
+
+        // When:
+        try (CommandJournal journal = new CommandJournal(path, 3)) {
+            village.Day();
+            journal.Day();
+            journal.CheckpointIfDue(village);
+        }
+
+        // Then:
+        assertFalse(Files.exists(path), "The third command should have started a checkpoint.");
+        assertEquals(village.getDaysGone(), new CommandJournal(path, 3).Replay().getDaysGone(), "The checkpoint should hold every day.");
+    }
+}
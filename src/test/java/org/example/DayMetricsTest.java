@@ -0,0 +1,93 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.metrics.DayMetrics;
+import org.example.metrics.Histogram;
+import org.example.metrics.MetricsRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DayMetricsTest {
+
+    @Test
+    @DisplayName("Day metrics time every phase of every day and count what the days produced.")
+    public void testPhasesAndCounters() {
+        // Given:
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        DayMetrics metrics = new DayMetrics();
+        village.setMetrics(metrics);
+        village.setFood(1);
+        village.setFoodPerDay(1);
+        village.setWood(5);
+        village.setMetal(3);
+        village.addWorker("Lars", "farmer");
+        village.addWorker("Arta", "builder");
+        village.addProject("House");
+
+        // When:
+        // Lars gathers just enough food for one worker, so Arta starves before the House is done.
+        for (int day = 0; day < 10; day++) {
+            village.Day();
+        }
+
+        // Then:
+        MetricsRegistry registry = metrics.getRegistry();
+        for (String phase : new String[] {DayMetrics.DAY, DayMetrics.FEED, DayMetrics.WORK, DayMetrics.BUILD}) {
+            assertEquals(10, registry.histogram(phase).getCount(), "Every day should time the " + phase + " phase.");
+        }
+        assertEquals(10, registry.counter(DayMetrics.FOOD).getValue(), "Lars should gather 1 food a day.");
+        assertEquals(1, registry.counter(DayMetrics.DEATHS).getValue(), "Arta should have starved.");
+        assertEquals(0, registry.counter(DayMetrics.PROJECTS).getValue(), "Nobody was left to build the House.");
+    }
+
+    @Test
+    @DisplayName("A registry exposed over JMX shows its counters.")
+    public void testJmxExposure() throws JMException {
+        // Given:
+        DayMetrics metrics = new DayMetrics();
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setMetrics(metrics);
+        village.addWorker("Lars", "farmer");
+        village.Day();
+
+        // When:
+        ObjectName name = metrics.getRegistry().Expose("DayMetricsTest");
+        try {
+            TabularData counters = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Counters");
+
+            // Then:
+            assertEquals(5L, counters.get(new Object[] {DayMetrics.FOOD}).get("value"), "JMX should show the food gathered.");
+        }
+        finally {
+            MetricsRegistry.Unexpose(name);
+        }
+    }
+
+    @Test
+    @DisplayName("Histogram percentiles are within a few percent of the recorded values.")
+    public void testHistogramPercentiles() {
+        // Given:
+        Histogram histogram = new Histogram();
+
+        // When:
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.Record(value);
+        }
+
+        // Then:
+        assertEquals(100_000, histogram.getCount(), "Every value should be counted.");
+        assertEquals(100_000, histogram.Percentile(100), "The top percentile should be the maximum.");
+        assertEquals(50_000, histogram.Percentile(50), 50_000 * 0.04, "The median should be close to 50000.");
+        assertEquals(99_000, histogram.Percentile(99), 99_000 * 0.04, "The 99th percentile should be close to 99000.");
+        assertEquals(7, new Histogram() {{ Record(7); }}.Percentile(50), "Small values should be exact.");
+    }
+}
@@ -0,0 +1,182 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.objects.Worker;
+import org.example.storage.DeltaVillageStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeltaVillageStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Village createVillage() {
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setMaxWorkers(500);
+        String[] occupations = {"farmer", "lumberjack", "miner", "builder"};
+        for (int i = 0; i < 400; i++) {
+            village.addWorker("Worker" + i, occupations[i % occupations.length]);
+        }
+        village.setFoodPerDay(1); // not enough food for everyone, so some workers go hungry and starve
+        return village;
+    }
+
+    private void assertSameVillage(Village expected, Village actual) {
+        assertEquals(expected.getFood(), actual.getFood(), "Food should match.");
+        assertEquals(expected.getWood(), actual.getWood(), "Wood should match.");
+        assertEquals(expected.getMetal(), actual.getMetal(), "Metal should match.");
+        assertEquals(expected.getDaysGone(), actual.getDaysGone(), "Days gone should match.");
+        assertEquals(expected.getMaxWorkers(), actual.getMaxWorkers(), "Max workers should match.");
+        assertEquals(expected.getBuildings().size(), actual.getBuildings().size(), "Buildings should match.");
+        assertEquals(expected.getProjects().size(), actual.getProjects().size(), "Projects should match.");
+        for (int i = 0; i < expected.getProjects().size(); i++) {
+            assertEquals(expected.getProjects().get(i).getDaysLeft(), actual.getProjects().get(i).getDaysLeft(), "Days left should match.");
+        }
+        List<Worker> expectedWorkers = expected.getWorkers();
+        List<Worker> actualWorkers = actual.getWorkers();
+        assertEquals(expectedWorkers.size(), actualWorkers.size(), "Worker count should match.");
+        for (int i = 0; i < expectedWorkers.size(); i++) {
+            assertEquals(expectedWorkers.get(i).getName(), actualWorkers.get(i).getName(), "Name of worker " + i + " should match.");
+            assertEquals(expectedWorkers.get(i).isHungry(), actualWorkers.get(i).isHungry(), "Hunger of worker " + i + " should match.");
+            assertEquals(expectedWorkers.get(i).isAlive(), actualWorkers.get(i).isAlive(), "Life of worker " + i + " should match.");
+            assertEquals(expectedWorkers.get(i).getDaysHungry(), actualWorkers.get(i).getDaysHungry(), "Days hungry of worker " + i + " should match.");
+        }
+    }
+
+    @Test
+    @DisplayName("A village saved once and then only as deltas loads with the same state.")
+    public void testDeltasRoundTrip() throws IOException {
+        // Given:
+        Village village = createVillage();
+        try (DeltaVillageStorage storage = new DeltaVillageStorage(tempDir, 1000)) {
+            storage.SaveVillage(village, "Straw town");
+            long snapshotSize = Files.size(tempDir.resolve("Straw+town.snapshot"));
+
+            // When:
+            long deltaSize = 0;
+            for (int day = 0; day < 20; day++) {
+                if (day == 5) {
+                    village.setMaxWorkers(510);
+                    village.addWorker("Late", "farmer");
+                    village.addProject("Woodmill");
+                }
+                village.Day();
+                long before = deltaSize;
+                assertTrue(storage.SaveVillage(village, "Straw town"), "The delta should be saved.");
+                deltaSize = Files.size(tempDir.resolve("Straw+town.delta"));
+                if (day == 19) {
+                    // By now the starving workers are dead and the rest are fed every day, so hardly anything changes.
+                    assertTrue(deltaSize - before < snapshotSize / 10, "A quiet day should write far less than a snapshot.");
+                }
+            }
+
+            // Then:
+            assertEquals(List.of("Straw town"), storage.GetTownNames(), "The town should be listed by its name.");
+            assertSameVillage(village, storage.LoadVillage("Straw town"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deltas are folded into the snapshot in the background without changing the loaded village.")
+    public void testCompaction() throws IOException {
+        // Given:
+        Village village = createVillage();
+        DeltaVillageStorage storage = new DeltaVillageStorage(tempDir, 5);
+        storage.SaveVillage(village, "Straw town");
+
+        // When:
+        for (int day = 0; day < 5; day++) {
+            village.Day();
+            storage.SaveVillage(village, "Straw town");
+        }
+        storage.close();
+
+        // Then:
+        assertFalse(Files.exists(tempDir.resolve("Straw+town.delta")), "The deltas should have been compacted.");
+        assertSameVillage(village, new DeltaVillageStorage(tempDir).LoadVillage("Straw town"));
+    }
+
+    @Test
+    @DisplayName("Changes made through the project and worker lists are saved in the next delta.")
+    public void testListChangesAreSaved() throws IOException {
+        // Given:
+        Village village = createVillage();
+        village.setWood(100);
+        village.setMetal(100);
+        village.addProject("House");
+        village.addProject("Woodmill");
+        try (DeltaVillageStorage storage = new DeltaVillageStorage(tempDir, 1000)) {
+            storage.SaveVillage(village, "Straw town");
+
+            // When:
+            village.getProjectQueue().moveToFront(1);
+            village.getProjects().get(1).setDaysLeft(99);
+            village.getWorkers().remove(0);
+            assertTrue(storage.SaveVillage(village, "Straw town"), "The changes should be saved.");
+
+            // Then:
+            Village loaded = storage.LoadVillage("Straw town");
+            assertEquals("Woodmill", loaded.getProjects().get(0).getName(), "The moved project should come first.");
+            assertSameVillage(village, loaded);
+        }
+    }
+
+    @Test
+    @DisplayName("Deltas saved before the storage was opened count towards compaction.")
+    public void testDeltasCountedOnOpen() throws IOException {
+        // Given:
+        Village village = createVillage();
+        try (DeltaVillageStorage storage = new DeltaVillageStorage(tempDir, 1000)) {
+            storage.SaveVillage(village, "Straw town");
+            for (int day = 0; day < 4; day++) {
+                village.Day();
+                storage.SaveVillage(village, "Straw town");
+            }
+        }
+
+        // When:
+        DeltaVillageStorage storage = new DeltaVillageStorage(tempDir, 5);
+        village.Day();
+        storage.SaveVillage(village, "Straw town");
+        storage.close();
+
+        // Then:
+        assertFalse(Files.exists(tempDir.resolve("Straw+town.delta")), "The fifth delta should have started a compaction.");
+        assertSameVillage(village, new DeltaVillageStorage(tempDir).LoadVillage("Straw town"));
+    }
+
+    @Test
+    @DisplayName("A delta cut short by a crash is dropped and the earlier deltas still load.")
+    public void testTornDelta() throws IOException {
+        // Given:
+        Village village = createVillage();
+        DeltaVillageStorage storage = new DeltaVillageStorage(tempDir, 1000);
+        storage.SaveVillage(village, "Straw town");
+        village.Day();
+        storage.SaveVillage(village, "Straw town");
+        int daysGone = village.getDaysGone();
+        village.Day();
+        storage.SaveVillage(village, "Straw town");
+        storage.close();
+
+        // When:
+        Path delta = tempDir.resolve("Straw+town.delta");
+        byte[] bytes = Files.readAllBytes(delta);
+        Files.write(delta, Arrays.copyOf(bytes, bytes.length - 3));
+        Village loaded = new DeltaVillageStorage(tempDir).LoadVillage("Straw town");
+
+        // Then:
+        assertEquals(daysGone, loaded.getDaysGone(), "The village should be at the last complete delta.");
+    }
+}
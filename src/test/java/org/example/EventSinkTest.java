@@ -0,0 +1,61 @@
+package org.example;
+
+import org.example.events.BufferedEventSink;
+import org.example.events.ConsoleEventSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventSinkTest {
+
+    private Village village;
+    private ByteArrayOutputStream outContent;
+
+    @BeforeEach
+    public void beforeEach() {
+        village = new Village();
+        outContent = new ByteArrayOutputStream();
+    }
+
+    @Test
+    @DisplayName("The console sink prints the same text as the village always has.")
+    public void testConsoleSinkText() {
+        // Given:
+        village.setEventListener(new ConsoleEventSink(new PrintStream(outContent)));
+        village.addWorker("Lars", "farmer");
+        village.addWorker("Arta", "builder");
+
+        // When:
+        village.Day();
+
+        // Then:
+        String expected = "Lars was successfully added." + System.lineSeparator() +
+                "Arta was successfully added." + System.lineSeparator() +
+                "Lars eats. Arta eats. " + System.lineSeparator() +
+                "Lars gathers 5 food!" + System.lineSeparator() +
+                "No buildings for Arta to work on!" + System.lineSeparator();
+        assertEquals(expected, outContent.toString(), "The printed text should not change.");
+    }
+
+    @Test
+    @DisplayName("The buffered sink holds its text until it is flushed.")
+    public void testBufferedSinkFlush() {
+        // Given:
+        BufferedEventSink sink = new BufferedEventSink(new PrintStream(outContent), 1024);
+        village.setEventListener(sink);
+        village.addWorker("Lars", "farmer");
+
+        // When:
+        village.Day();
+
+        // Then:
+        assertEquals("", outContent.toString(), "Nothing should be written before the flush.");
+        sink.Flush();
+        assertTrue(outContent.toString().contains("Lars gathers 5 food!"), "The text should be written after the flush.");
+    }
+}
@@ -0,0 +1,107 @@
+package org.example;
+
+import org.example.objects.WorkerTable;
+import org.example.storage.LogVillageStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogVillageStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Village createVillage(Village village) {
+        village.setWood(10);
+        village.setMetal(4);
+        village.addWorker("Lars", "farmer");
+        village.addWorker("Arta", "builder");
+        village.addProject("Farm");
+        village.Day();
+        village.Day();
+        return village;
+    }
+
+    @Test
+    @DisplayName("A saved village loads back with the same state after reopening the file.")
+    public void testSaveAndLoad() throws IOException {
+        // Given:
+        Path file = tempDir.resolve("villages.db");
+        Village village = createVillage(new Village());
+        village.setDaysUntilStarvation(3);
+        try (LogVillageStorage storage = new LogVillageStorage(file)) {
+            assertTrue(storage.SaveVillage(village, "Straw town"), "The village should be saved.");
+        }
+
+        // When:
+        Village loaded;
+        try (LogVillageStorage storage = new LogVillageStorage(file)) {
+            assertEquals(1, storage.GetTownNames().size(), "There should be one town.");
+            loaded = storage.LoadVillage("Straw town");
+        }
+
+        // Then:
+        assertNotNull(loaded, "The village should load.");
+        assertEquals(village.getFood(), loaded.getFood(), "Food should match.");
+        assertEquals(village.getWood(), loaded.getWood(), "Wood should match.");
+        assertEquals(village.getDaysGone(), loaded.getDaysGone(), "Days gone should match.");
+        assertEquals(3, loaded.getDaysUntilStarvation(), "The starvation limit should match.");
+        assertEquals(village.getWorkers().size(), loaded.getWorkers().size(), "Worker count should match.");
+        assertEquals(village.getWorkers().get(0).isHungry(), loaded.getWorkers().get(0).isHungry(), "Hunger should match.");
+        assertEquals(3, loaded.getBuildings().size(), "Buildings should match.");
+        assertEquals(village.getProjects().get(0).getDaysLeft(), loaded.getProjects().get(0).getDaysLeft(), "Days left should match.");
+
+        // The loaded project still completes with its effect.
+        for (int day = 0; day < 3; day++) {
+            loaded.Day();
+        }
+        assertEquals(10, loaded.getFoodPerDay(), "The loaded Farm should raise food per day when completed.");
+    }
+
+    @Test
+    @DisplayName("A save cut short by a crash is dropped and earlier saves still load.")
+    public void testTornWriteIsDropped() throws IOException {
+        // Given:
+        Path file = tempDir.resolve("villages.db");
+        try (LogVillageStorage storage = new LogVillageStorage(file)) {
+            storage.SaveVillage(createVillage(new Village()), "Straw town");
+            storage.SaveVillage(createVillage(new Village(new WorkerTable())), "Greendale");
+        }
+        long size = Files.size(file);
+        Files.write(file, new byte[] {0x56, 0x49, 0x4C, 0x47, 0, 0}, StandardOpenOption.APPEND);
+
+        // When:
+        try (LogVillageStorage storage = new LogVillageStorage(file)) {
+            // Then:
+            assertEquals(2, storage.GetTownNames().size(), "Both complete saves should be found.");
+            assertEquals(size, Files.size(file), "The torn record should be cut off.");
+            assertTrue(storage.LoadVillage("Greendale").getWorkerStore() instanceof WorkerTable, "The worker store type should be kept.");
+            storage.Compact();
+            assertNotNull(storage.LoadVillage("Straw town"), "The village should load after compaction.");
+        }
+    }
+
+    @Test
+    @DisplayName("A file that cannot be opened fails loads and saves instead of throwing.")
+    public void testUnreadableFile() throws IOException {
+        // Given:
+        // A directory cannot be opened as the log file.
+        Path file = Files.createDirectory(tempDir.resolve("villages.db"));
+
+        // When:
+        try (LogVillageStorage storage = new LogVillageStorage(file)) {
+            // Then:
+            assertNull(storage.LoadVillage("Straw town"), "An unreadable file should load nothing.");
+            assertFalse(storage.SaveVillage(createVillage(new Village()), "Straw town"), "An unreadable file should not be saved to.");
+            assertThrows(UncheckedIOException.class, storage::GetTownNames, "Town names that cannot be listed should be reported.");
+        }
+    }
+}
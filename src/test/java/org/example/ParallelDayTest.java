@@ -0,0 +1,110 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.interfaces.IWorkerStore;
+import org.example.objects.WorkerTable;
+import org.example.storage.VillageSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelDayTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Village createVillage() {
+        Village village = new Village(new WorkerTable());
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setMaxWorkers(40000);
+        village.setWood(1000);
+        village.setMetal(1000);
+        String[] occupations = {"farmer", "lumberjack", "miner", "builder", "builder"};
+        for (int i = 0; i < 40000; i++) {
+            village.addWorker("Worker" + i, occupations[i % occupations.length]);
+        }
+        for (String project : new String[] {"Farm", "House", "Quarry", "Woodmill", "Farm"}) {
+            village.addProject(project);
+        }
+        // Long enough that the projects are finished by builders in the middle of a day.
+        for (int i = 0; i < village.getProjects().size(); i++) {
+            village.getProjects().get(i).setDaysLeft(5000 + 3000 * i);
+        }
+        village.setFood(30000); // not enough for everyone on the first day
+        return village;
+    }
+
+    @Test
+    @DisplayName("A parallel day gives exactly the same village as a sequential day.")
+    public void testParallelMatchesSequential() {
+        // Given:
+        Village sequential = createVillage();
+        sequential.setAggregateDay(true);
+        Village parallel = createVillage();
+        parallel.setParallelDay(true);
+        parallel.setPool(new ForkJoinPool(4));
+
+        // When:
+        for (int day = 0; day < 12; day++) {
+            sequential.Day();
+            parallel.Day();
+        }
+
+        // Then:
+        assertSameVillage(sequential, parallel);
+        assertTrue(sequential.getBuildings().size() > 6, "Some projects should have been finished during the test.");
+    }
+
+    @Test
+    @DisplayName("A parallel day on a village loaded from a snapshot gives the same village as a sequential day.")
+    public void testParallelOnLoadedVillage() throws IOException {
+        // Given:
+        Path file = tempDir.resolve("village.snapshot");
+        VillageSnapshot.Write(createVillage(), file);
+        Village sequential = VillageSnapshot.Load(file);
+        sequential.setEventListener(NoOpEventSink.INSTANCE);
+        sequential.setAggregateDay(true);
+        Village parallel = VillageSnapshot.Load(file);
+        parallel.setEventListener(NoOpEventSink.INSTANCE);
+        parallel.setParallelDay(true);
+        parallel.setPool(new ForkJoinPool(4));
+
+        // When:
+        // The first parallel day has every thread change workers of the mapped store at once.
+        for (int day = 0; day < 12; day++) {
+            sequential.Day();
+            parallel.Day();
+        }
+
+        // Then:
+        assertSameVillage(sequential, parallel);
+    }
+
+    private static void assertSameVillage(Village sequential, Village parallel) {
+        assertEquals(sequential.getFood(), parallel.getFood(), "Food should match.");
+        assertEquals(sequential.getWood(), parallel.getWood(), "Wood should match.");
+        assertEquals(sequential.getMetal(), parallel.getMetal(), "Metal should match.");
+        assertEquals(sequential.getFoodPerDay(), parallel.getFoodPerDay(), "Food per day should match.");
+        assertEquals(sequential.getWoodPerDay(), parallel.getWoodPerDay(), "Wood per day should match.");
+        assertEquals(sequential.getMetalPerDay(), parallel.getMetalPerDay(), "Metal per day should match.");
+        assertEquals(sequential.getBuildings().size(), parallel.getBuildings().size(), "Buildings should match.");
+        assertEquals(sequential.getProjects().size(), parallel.getProjects().size(), "Projects should match.");
+        for (int i = 0; i < sequential.getProjects().size(); i++) {
+            assertEquals(sequential.getProjects().get(i).getDaysLeft(), parallel.getProjects().get(i).getDaysLeft(), "Days left should match.");
+        }
+        assertEquals(sequential.getDaysGone(), parallel.getDaysGone(), "Days gone should match.");
+        IWorkerStore expected = sequential.getWorkerStore();
+        IWorkerStore actual = parallel.getWorkerStore();
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.isAlive(i), actual.isAlive(i), "Life of worker " + i + " should match.");
+            assertEquals(expected.isHungry(i), actual.isHungry(i), "Hunger of worker " + i + " should match.");
+            assertEquals(expected.getDaysHungry(i), actual.getDaysHungry(i), "Days hungry of worker " + i + " should match.");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.objects.Project;
+import org.example.objects.ProjectQueue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectQueueTest {
+
+    @Test
+    @DisplayName("The queue keeps the same order as a list through inserts and removals at any position.")
+    public void testMatchesList() {
+        // Given:
+        ProjectQueue queue = new ProjectQueue();
+        List<Project> list = new ArrayList<>();
+        Random random = new Random(7);
+
+        // When:
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || list.isEmpty()) {
+                Project project = new Project("P" + i, 1, () -> { });
+                int index = random.nextInt(list.size() + 1);
+                queue.add(index, project);
+                list.add(index, project);
+            }
+            else if (operation == 2) {
+                int index = random.nextInt(list.size());
+                assertSame(list.remove(index), queue.remove(index), "The same project should be removed.");
+            }
+            else {
+                assertSame(list.remove(0), queue.removeFirst(), "The first project should be removed.");
+            }
+        }
+
+        // Then:
+        assertEquals(list, queue, "The queue should hold the same projects in the same order.");
+    }
+
+    @Test
+    @DisplayName("A project moved to the front of the village queue is built first.")
+    public void testMoveToFront() {
+        // Given:
+        Village village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setWood(20);
+        village.setMetal(10);
+        village.addProject("House");
+        village.addProject("Woodmill");
+
+        // When:
+        village.getProjectQueue().moveToFront(1);
+        for (int i = 0; i < 5; i++) {
+            village.Build("Arta");
+        }
+
+        // Then:
+        assertEquals("Woodmill", village.getBuildings().get(village.getBuildings().size() - 1).getName(), "The Woodmill should be finished first.");
+        assertEquals("House", village.getProjects().get(0).getName(), "The House should still be queued.");
+    }
+}
@@ -1,14 +1,19 @@
 package org.example;
 
+import org.example.interfaces.IVillageEventListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -67,4 +72,67 @@ public class VillageInputTest {
         // Restore the original System.in stream after the test is complete to avoid affecting other tests.
         System.setIn(originalSystemIn);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("A script adds workers, repeats days and prints the village only at the status interval.")
+    public void testRunScript() throws IOException {
+        // Given:
+        String script = "1\nLars\nfarmer\n1\nArta\nminer\n3 x 25\n";
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        VillageInput villageInput = new VillageInput(village, databaseConnectionMock);
+
+        // When:
+        System.setOut(new PrintStream(outContent));
+        try {
+            villageInput.RunScript(new ByteArrayInputStream(script.getBytes()), 10);
+        }
+        finally {
+            System.setOut(originalOut);
+        }
+
+        // Then:
+        String output = outContent.toString();
+        assertEquals(25, village.getDaysGone(), "The day should be taken 25 times.");
+        assertEquals(2, village.getWorkers().size(), "Both workers should be added.");
+        assertTrue(output.contains("Day 10" + System.lineSeparator()) && output.contains("Day 20" + System.lineSeparator()),
+                "The village should be printed every 10 days.");
+        assertTrue(output.contains("Day 25" + System.lineSeparator()), "The village should be printed at the end.");
+        assertEquals(3, output.split("Workers: 2 of 6", -1).length - 1, "The village should be printed three times.");
+        assertFalse(output.contains("What would you like to do?"), "The menu should not be printed.");
+        assertFalse(output.contains("gathers"), "The days should not be narrated.");
+    }
+
+    @Test
+    @DisplayName("A script that adds workers to a full village skips their answers, and bad repeat counts are reported.")
+    public void testRunScriptFullVillage() throws IOException {
+        // Given:
+        // Eight workers for six places: the last two names and jobs must not be read as choices.
+        StringBuilder script = new StringBuilder("1 x 8\n");
+        for (int i = 0; i < 8; i++) {
+            script.append("3\nminer\n");
+        }
+        script.append("3 x 99999999999999999999\n3\n");
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        IVillageEventListener events = village.getEventListener();
+        VillageInput villageInput = new VillageInput(village, databaseConnectionMock);
+
+        // When:
+        System.setOut(new PrintStream(outContent));
+        try {
+            villageInput.RunScript(new ByteArrayInputStream(script.toString().getBytes()), 0);
+        }
+        finally {
+            System.setOut(originalOut);
+        }
+
+        // Then:
+        String output = outContent.toString();
+        assertEquals(6, village.getWorkers().size(), "Only six workers should fit.");
+        assertEquals(1, village.getDaysGone(), "Only the last line should take a day.");
+        assertEquals(2, output.split("There is nowhere for the new worker to live!", -1).length - 1, "Two workers should be turned away.");
+        assertTrue(output.contains("That's not an option: 3 x 99999999999999999999"), "The overlong count should be reported.");
+        assertSame(events, village.getEventListener(), "The village should narrate to its own listener again.");
+    }
+}
@@ -0,0 +1,110 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.objects.Building;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VillageReportTest {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    private Village village;
+    private ByteArrayOutputStream outContent;
+    private VillageReport report;
+
+    @BeforeEach
+    public void beforeEach() {
+        village = new Village();
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        outContent = new ByteArrayOutputStream();
+        report = new VillageReport(new PrintStream(outContent));
+    }
+
+    @Test
+    @DisplayName("The summary counts workers by occupation, hunger and death, and buildings by type.")
+    public void testSummary() {
+        // Given:
+        // One food for three workers: the farmer eats, the others go hungry until the miner starves.
+        village.setFood(1);
+        village.setFoodPerDay(1);
+        village.setDaysUntilStarvation(3);
+        village.addWorker("Lars", "farmer");
+        village.addWorker("Arta", "miner");
+        village.addWorker("Olle", "builder");
+        village.setWood(5);
+        village.setMetal(3);
+        village.addProject("House");
+
+        // When:
+        for (int day = 0; day < 4; day++) {
+            village.Day();
+        }
+        report.Summary(village);
+
+        // Then:
+        String expected = "Day 4" + NEWLINE +
+                "Workers: 3 of 6 (1 alive, 0 hungry, 2 dead)" + NEWLINE +
+                "  farmer: 1" + NEWLINE +
+                "  lumberjack: 0" + NEWLINE +
+                "  miner: 0" + NEWLINE +
+                "  builder: 0" + NEWLINE +
+                "Buildings: House x3" + NEWLINE +
+                "Projects: 1 (next: House, 2 points left)" + NEWLINE +
+                "Food: 1  Wood: 0  Metal: 4" + NEWLINE +
+                "Generating 1 food, 1 wood, 1 metal per day per worker." + NEWLINE;
+        assertEquals(expected, outContent.toString(), "The summary should show the counts.");
+    }
+
+    @Test
+    @DisplayName("The summary separates building types with commas, and says when there are none.")
+    public void testSummaryBuildings() {
+        // Given:
+        Village empty = new Village();
+        empty.setBuildings(List.of());
+        village.setBuildings(List.of(new Building("Farm"), new Building("House"), new Building("House")));
+
+        // When:
+        report.Summary(empty);
+        report.Summary(village);
+
+        // Then:
+        String output = outContent.toString();
+        assertTrue(output.contains("Buildings: none" + NEWLINE), "A village without buildings should say so.");
+        assertTrue(output.contains("Buildings: Farm x1, House x2" + NEWLINE), "Building types should be separated by commas.");
+    }
+
+    @Test
+    @DisplayName("A page lists only its own workers, dead ones marked.")
+    public void testPage() {
+        // Given:
+        village.setMaxWorkers(10);
+        // Enough food for two days of the first four workers and one of the fifth.
+        village.setFood(9);
+        village.setFoodPerDay(0);
+        village.setDaysUntilStarvation(1);
+        for (int i = 0; i < 5; i++) {
+            village.addWorker("Worker" + i, "miner");
+        }
+        village.Day();
+        village.Day();
+
+        // When:
+        report.Page(village, 1, 3);
+        report.Page(village, 2, 3);
+
+        // Then:
+        String expected = "Workers 4-5 of 5:" + NEWLINE +
+                "Worker3, miner." + NEWLINE +
+                "Worker4, miner, dead." + NEWLINE +
+                "No workers on page 3." + NEWLINE;
+        assertEquals(expected, outContent.toString(), "The second page should hold the last two workers.");
+    }
+}
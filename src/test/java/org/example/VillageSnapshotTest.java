@@ -0,0 +1,121 @@
+package org.example;
+
+import org.example.events.NoOpEventSink;
+import org.example.interfaces.IWorkerStore;
+import org.example.objects.Worker;
+import org.example.objects.WorkerTable;
+import org.example.storage.MappedWorkerStore;
+import org.example.storage.VillageSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VillageSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Village createVillage() {
+        Village village = new Village(new WorkerTable());
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setMaxWorkers(1000);
+        village.setWood(10);
+        village.setMetal(4);
+        String[] occupations = {"farmer", "lumberjack", "miner", "builder"};
+        for (int i = 0; i < 1000; i++) {
+            village.addWorker("Worker" + i + "ö", occupations[i % occupations.length]);
+        }
+        village.addProject("Farm");
+        village.getProjects().get(0).setDaysLeft(2000); // 250 builders finish it during the test
+        village.setFood(600);
+        village.Day();
+        village.Day();
+        return village;
+    }
+
+    @Test
+    @DisplayName("A loaded snapshot has the same state and keeps simulating like the original.")
+    public void testSnapshotRoundTrip() throws IOException {
+        // Given:
+        Path file = tempDir.resolve("village.snapshot");
+        Village village = createVillage();
+        VillageSnapshot.Write(village, file);
+        byte[] written = Files.readAllBytes(file);
+
+        // When:
+        Village loaded = VillageSnapshot.Load(file);
+        loaded.setEventListener(NoOpEventSink.INSTANCE);
+
+        // Then:
+        assertTrue(loaded.getWorkerStore() instanceof MappedWorkerStore, "Workers should be read from the mapped file.");
+        assertEquals(village.getFood(), loaded.getFood(), "Food should match.");
+        assertEquals(village.getDaysGone(), loaded.getDaysGone(), "Days gone should match.");
+        assertEquals(village.getProjects().get(0).getDaysLeft(), loaded.getProjects().get(0).getDaysLeft(), "Days left should match.");
+        assertEquals(village.getBuildings().size(), loaded.getBuildings().size(), "Buildings should match.");
+
+        // Both villages keep going the same way.
+        for (int day = 0; day < 10; day++) {
+            village.Day();
+            loaded.Day();
+        }
+        assertEquals(village.getFood(), loaded.getFood(), "Food should still match.");
+        assertEquals(village.getFoodPerDay(), loaded.getFoodPerDay(), "The loaded Farm should complete.");
+        for (int i = 0; i < village.getWorkers().size(); i += 97) {
+            Worker expected = village.getWorkers().get(i);
+            Worker actual = loaded.getWorkers().get(i);
+            assertEquals(expected.getName(), actual.getName(), "Names should match.");
+            assertEquals(expected.isAlive(), actual.isAlive(), "Alive state should match for " + expected.getName());
+            assertEquals(expected.getDaysHungry(), actual.getDaysHungry(), "Days hungry should match for " + expected.getName());
+        }
+        assertArrayEquals(written, Files.readAllBytes(file), "Simulating a loaded village must not change the file.");
+    }
+
+    @Test
+    @DisplayName("Workers can be added to a village loaded from a snapshot.")
+    public void testAddWorkerAfterLoad() throws IOException {
+        // Given:
+        Path file = tempDir.resolve("village.snapshot");
+        VillageSnapshot.Write(createVillage(), file);
+        Village loaded = VillageSnapshot.Load(file);
+        loaded.setEventListener(NoOpEventSink.INSTANCE);
+        loaded.setMaxWorkers(1001);
+
+        // When:
+        boolean added = loaded.addWorker("Lars", "farmer");
+
+        // Then:
+        assertTrue(added, "The worker should be added.");
+        assertEquals(1001, loaded.getWorkers().size(), "The village should have one more worker.");
+        assertEquals("Lars", loaded.getWorkers().get(1000).getName(), "The new worker should come last.");
+    }
+
+    @Test
+    @DisplayName("A worker of an unknown occupation in a snapshot fails when its occupation is read.")
+    public void testUnknownOccupation() throws IOException {
+        // Given:
+        Path file = tempDir.resolve("village.snapshot");
+        VillageSnapshot.Write(createVillage(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        int farmer = text.indexOf("farmer");
+        System.arraycopy("framer".getBytes(StandardCharsets.ISO_8859_1), 0, bytes, farmer, 6);
+        Files.write(file, bytes);
+
+        // When:
+        IWorkerStore workers = VillageSnapshot.Load(file).getWorkerStore();
+
+        // Then:
+        UncheckedIOException thrown = assertThrows(UncheckedIOException.class, () -> workers.getOccupationType(0),
+                "The damaged occupation should not be read as null.");
+        assertEquals("Worker 0 has an unknown occupation framer.", thrown.getCause().getMessage(), "The unknown occupation should be named.");
+        assertEquals("lumberjack", workers.getOccupation(1), "Workers with known occupations should still be read.");
+    }
+}
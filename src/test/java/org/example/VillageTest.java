@@ -1,7 +1,16 @@
 package org.example;
 
+import org.example.events.NoOpEventSink;
+import org.example.metrics.DayMetrics;
+import org.example.objects.AdmissionResult;
+import org.example.objects.Building;
+import org.example.objects.BuildingInventory;
+import org.example.objects.ChangeTracker;
+import org.example.objects.Occupation;
 import org.example.objects.Project;
 import org.example.objects.Worker;
+import org.example.objects.WorkerBatch;
+import org.example.objects.WorkerTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +19,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -499,10 +509,433 @@ public class VillageTest {
 
 
 
-}
+    @Test
+    @DisplayName("Aggregate day mode gives the same village state as the per-worker day.")
+    public void testAggregateDayMatchesPerWorkerDay() {
+        // Given:
+        // Two identical villages where a builder comes before a farmer, so a finished Farm
+        // changes the food rate in the middle of a day.
+        Village aggregateVillage = new Village();
+        aggregateVillage.setAggregateDay(true);
+        for (Village v : new Village[] {village, aggregateVillage}) {
+            v.setWood(10);
+            v.setMetal(4);
+            v.setFood(3);
+            v.addWorker("Arta", "builder");
+            v.addWorker("Lars", "farmer");
+            v.addWorker("Anders", "lumberjack");
+            v.addWorker("Mickey", "miner");
+            v.addWorker("Nils", "miner");
+            v.addProject("Farm");
+            v.addProject("House");
+        }
 
+        // When:
+        // Simulating days until the projects are done and some workers have gone hungry.
+        for (int day = 0; day < 12; day++) {
+            village.Day();
+            aggregateVillage.Day();
+        }
 
+        // Then:
+        // Resources, rates and worker state match.
+        assertEquals(village.getFood(), aggregateVillage.getFood(), "Food should match.");
+        assertEquals(village.getWood(), aggregateVillage.getWood(), "Wood should match.");
+        assertEquals(village.getMetal(), aggregateVillage.getMetal(), "Metal should match.");
+        assertEquals(village.getFoodPerDay(), aggregateVillage.getFoodPerDay(), "Food per day should match.");
+        assertEquals(village.getMaxWorkers(), aggregateVillage.getMaxWorkers(), "Max workers should match.");
+        assertEquals(village.getBuildings().size(), aggregateVillage.getBuildings().size(), "Buildings should match.");
+        assertEquals(village.getDaysGone(), aggregateVillage.getDaysGone(), "Days gone should match.");
+        for (int i = 0; i < village.getWorkers().size(); i++) {
+            Worker expected = village.getWorkers().get(i);
+            Worker actual = aggregateVillage.getWorkers().get(i);
+            assertEquals(expected.isAlive(), actual.isAlive(), "Alive state should match for " + expected.getName());
+            assertEquals(expected.isHungry(), actual.isHungry(), "Hunger should match for " + expected.getName());
+            assertEquals(expected.getDaysHungry(), actual.getDaysHungry(), "Days hungry should match for " + expected.getName());
+        }
+    }
 
+    @Test
+    @DisplayName("Batched builder effort finishes several projects in one day in the same order as single builds.")
+    public void testAggregateDayBatchesBuilders() {
+        // Given:
+        // Two identical villages with many builders between farmers and a queue of short projects,
+        // so several projects, Farms among them, finish during a single day.
+        Village aggregateVillage = new Village();
+        aggregateVillage.setAggregateDay(true);
+        String[] queue = {"Farm", "House", "Woodmill", "Farm", "Quarry", "House", "Farm"};
+        for (Village v : new Village[] {village, aggregateVillage}) {
+            v.setEventListener(NoOpEventSink.INSTANCE);
+            v.setMaxWorkers(100);
+            v.setWood(200);
+            v.setMetal(100);
+            v.setFood(1000);
+            for (int i = 0; i < 40; i++) {
+                v.addWorker("Worker" + i, i % 3 == 0 ? "farmer" : "builder");
+            }
+            for (String project : queue) {
+                v.addProject(project);
+            }
+            v.getProjects().get(1).setDaysLeft(0); // finished by a single build
+        }
 
+        // When:
+        for (int day = 0; day < 3; day++) {
+            village.Day();
+            aggregateVillage.Day();
+        }
 
+        // Then:
+        assertEquals(village.getFood(), aggregateVillage.getFood(), "Food should match.");
+        assertEquals(village.getFoodPerDay(), aggregateVillage.getFoodPerDay(), "Food per day should match.");
+        assertEquals(village.getWoodPerDay(), aggregateVillage.getWoodPerDay(), "Wood per day should match.");
+        assertEquals(village.getMetalPerDay(), aggregateVillage.getMetalPerDay(), "Metal per day should match.");
+        assertEquals(village.getMaxWorkers(), aggregateVillage.getMaxWorkers(), "Max workers should match.");
+        assertEquals(village.getBuildings().size(), aggregateVillage.getBuildings().size(), "Buildings should match.");
+        for (int i = 0; i < village.getBuildings().size(); i++) {
+            assertEquals(village.getBuildings().get(i).getName(), aggregateVillage.getBuildings().get(i).getName(), "Buildings should be finished in the same order.");
+        }
+        assertEquals(village.getProjects().size(), aggregateVillage.getProjects().size(), "Projects should match.");
+        for (int i = 0; i < village.getProjects().size(); i++) {
+            assertEquals(village.getProjects().get(i).getDaysLeft(), aggregateVillage.getProjects().get(i).getDaysLeft(), "Days left should match.");
+        }
+    }
 
+    @Test
+    @DisplayName("Advancing many days gives the same village state as stepping day by day.")
+    public void testAdvanceMatchesSteppingDays() {
+        // Given:
+        // Two identical villages with projects, a food shortage and a starving worker.
+        Village steppedVillage = new Village();
+        steppedVillage.setAggregateDay(true);
+        for (Village v : new Village[] {village, steppedVillage}) {
+            v.setWood(10);
+            v.setMetal(4);
+            v.setFood(2);
+            v.addWorker("Arta", "builder");
+            v.addWorker("Lars", "farmer");
+            v.addWorker("Anders", "lumberjack");
+            v.addWorker("Mickey", "miner");
+            v.addWorker("Nils", "miner");
+            v.addProject("Farm");
+            v.addProject("House");
+        }
+
+        // When:
+        // Advancing one village in a single call and stepping the other.
+        int days = 5000;
+        village.advance(days);
+        for (int day = 0; day < days; day++) {
+            steppedVillage.Day();
+        }
+
+        // Then:
+        // The state matches.
+        assertEquals(steppedVillage.getFood(), village.getFood(), "Food should match.");
+        assertEquals(steppedVillage.getWood(), village.getWood(), "Wood should match.");
+        assertEquals(steppedVillage.getMetal(), village.getMetal(), "Metal should match.");
+        assertEquals(steppedVillage.getFoodPerDay(), village.getFoodPerDay(), "Food per day should match.");
+        assertEquals(steppedVillage.getDaysGone(), village.getDaysGone(), "Days gone should match.");
+        assertEquals(steppedVillage.isGameOver(), village.isGameOver(), "Game over should match.");
+        assertEquals(steppedVillage.getProjects().size(), village.getProjects().size(), "Projects should match.");
+        for (int i = 0; i < village.getWorkers().size(); i++) {
+            Worker expected = steppedVillage.getWorkers().get(i);
+            Worker actual = village.getWorkers().get(i);
+            assertEquals(expected.isAlive(), actual.isAlive(), "Alive state should match for " + expected.getName());
+            assertEquals(expected.isHungry(), actual.isHungry(), "Hunger should match for " + expected.getName());
+            assertEquals(expected.getDaysHungry(), actual.getDaysHungry(), "Days hungry should match for " + expected.getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Advancing a steady village jumps ahead without stepping every day.")
+    public void testAdvanceSteadyVillage() {
+        // Given:
+        // A fed village with one farmer and one lumberjack.
+        village.addWorker("Lars", "farmer");
+        village.addWorker("Anders", "lumberjack");
+
+        // When:
+        village.advance(100_000_000L);
+
+        // Then:
+        // Food grows by 5 - 2 and wood by 1 each day.
+        assertEquals(100_000_000, village.getDaysGone(), "Days gone should be advanced.");
+        assertEquals(10 + 3 * 100_000_000, village.getFood(), "Food should grow linearly.");
+        assertEquals(100_000_000, village.getWood(), "Wood should grow linearly.");
+    }
+
+    @Test
+    @DisplayName("Resources past the int range are kept exactly and saturate instead of wrapping.")
+    public void testResourcesPastIntRange() {
+        // Given:
+        village.addWorker("Lars", "farmer");
+        village.addWorker("Anders", "lumberjack");
+
+        // When:
+        village.advance(1_000_000_000L);
+
+        // Then:
+        assertEquals(10 + 3_000_000_000L, village.getResources().getFood(), "The ledger should hold food past the int range.");
+        assertEquals(Integer.MAX_VALUE, village.getFood(), "The int getter should clamp food.");
+
+        // When:
+        village.getResources().setFoodPerDay(Long.MAX_VALUE / 2);
+        village.Day();
+        village.Day();
+        village.Day();
+
+        // Then:
+        assertEquals(Long.MAX_VALUE, village.getResources().getFood(), "Food should saturate instead of wrapping.");
+    }
+
+    @Test
+    @DisplayName("Occupations are resolved once when a worker is added, and work by their code afterwards.")
+    public void testOccupationResolvedOnAdd() {
+        // Given:
+        Village tableVillage = new Village(new WorkerTable());
+        tableVillage.setEventListener(NoOpEventSink.INSTANCE);
+
+        // When:
+        tableVillage.addWorker("Lars", "farmer");
+        boolean added = tableVillage.addWorker("Nils", "knight");
+        tableVillage.Day();
+
+        // Then:
+        assertFalse(added, "An unknown occupation should be rejected.");
+        assertSame(Occupation.FARMER, tableVillage.getWorkerStore().getOccupationType(0), "Lars should be stored as a farmer.");
+        assertEquals("farmer", tableVillage.getWorkers().get(0).getOccupation(), "The occupation name should be kept.");
+        assertEquals(10 - 1 + 5, tableVillage.getFood(), "Lars should have farmed.");
+    }
+
+    @Test
+    @DisplayName("A batch of workers is admitted until the village is full and the rest is counted as rejected.")
+    public void testAddWorkersBatch() {
+        // Given:
+        village.setEventListener(NoOpEventSink.INSTANCE);
+        village.setMaxWorkers(4);
+        village.addWorker("Lars", "farmer");
+        WorkerBatch batch = new WorkerBatch()
+                .add("Anders", "lumberjack")
+                .add("Nils", "knight")
+                .add("Mickey", "miner")
+                .add("Arta", "builder")
+                .add("Bob", "farmer");
+
+        // When:
+        AdmissionResult result = village.addWorkers(batch);
+
+        // Then:
+        assertEquals(3, result.getAccepted(), "Three workers should fit.");
+        assertEquals(1, result.getRejectedFull(), "Bob should be turned away for lack of room.");
+        assertEquals(1, result.getRejectedUnknown(), "Nils should be turned away for an unknown occupation.");
+        assertEquals(4, village.getWorkers().size(), "The village should be full.");
+        assertEquals("Arta", village.getWorkers().get(3).getName(), "Workers should be added in batch order.");
+        assertSame(Occupation.BUILDER, village.getWorkerStore().getOccupationType(3), "Arta should be a builder.");
+    }
+
+    @Test
+    @DisplayName("Quiet days that schedule starving workers instead of walking them match per-worker days.")
+    public void testScheduledStarvationMatchesPerWorkerDay() {
+        // Given:
+        // Farmers at the front feed a varying share of the workers behind them, so workers start and stop starving.
+        Village quietVillage = new Village(new WorkerTable());
+        Village workerVillage = new Village(new WorkerTable());
+        quietVillage.setAggregateDay(true);
+        String[] occupations = {"farmer", "miner", "lumberjack", "miner", "builder", "farmer", "miner"};
+        for (Village v : new Village[] {quietVillage, workerVillage}) {
+            v.setEventListener(NoOpEventSink.INSTANCE);
+            v.setMaxWorkers(400);
+            v.setFood(60);
+            v.setFoodPerDay(2);
+            v.setDaysUntilStarvation(6);
+            for (int i = 0; i < 400; i++) {
+                v.addWorker("Worker" + i, occupations[i * 7 / 400 % occupations.length]);
+            }
+        }
+
+        // When:
+        // Looking at the workers in between, which writes the schedule back, and then for a long stretch without.
+        for (int day = 0; day < 70; day++) {
+            quietVillage.Day();
+            workerVillage.Day();
+            if (day == 7) {
+                assertWorkersMatch(workerVillage, quietVillage);
+            }
+        }
+
+        // Then:
+        assertEquals(workerVillage.getFood(), quietVillage.getFood(), "Food should match.");
+        assertEquals(workerVillage.getMetal(), quietVillage.getMetal(), "Metal should match.");
+        assertEquals(workerVillage.isGameOver(), quietVillage.isGameOver(), "Game over should match.");
+        assertWorkersMatch(workerVillage, quietVillage);
+        long alive = workerVillage.getWorkers().stream().filter(Worker::isAlive).count();
+        assertTrue(alive > 0 && alive < 400, "Some workers should have starved, but not all.");
+    }
+
+    @Test
+    @DisplayName("A worker scheduled again for the same day it was cancelled from starves once when the workers are settled.")
+    public void testRescheduledWorkerSettlesOnce() {
+        // Given:
+        Village quietVillage = new Village();
+        Village workerVillage = new Village();
+        quietVillage.setAggregateDay(true);
+        for (Village v : new Village[] {quietVillage, workerVillage}) {
+            v.setEventListener(NoOpEventSink.INSTANCE);
+            v.setFood(0);
+            v.setFoodPerDay(0);
+            v.setDaysUntilStarvation(6);
+        }
+
+        // When:
+        // B keeps A walked, so every day A is taken off the schedule and put back for the same day.
+        for (Village v : new Village[] {quietVillage, workerVillage}) {
+            v.addWorker("A", "miner");
+            v.Day();
+            v.Day();
+            v.addWorker("B", "miner");
+            for (int day = 0; day < 4; day++) {
+                v.Day();
+            }
+        }
+
+        // Then:
+        assertWorkersMatch(workerVillage, quietVillage);
+        assertTrue(quietVillage.getWorkers().get(0).isAlive(), "A should be alive after five hungry days.");
+        assertEquals(5, quietVillage.getWorkers().get(0).getDaysHungry(), "A should have starved once a day.");
+        assertEquals(workerVillage.getAliveCount(), quietVillage.getAliveCount(), "Alive counts should match after settling.");
+        assertEquals(workerVillage.getHungryCount(), quietVillage.getHungryCount(), "Hungry counts should match after settling.");
+    }
+
+    @ParameterizedTest
+    @DisplayName("A scheduled worker walked again because a newer worker follows it is counted dead once.")
+    @CsvSource(value = {"2, 1, 2", "3, 1, 1", "6, 2, 4", "6, 2, 6", "6, 4, 3"})
+    public void testScheduledWorkerWalkedAgainDiesOnce(int daysUntilStarvation, int daysBeforeB, int daysAfterB) {
+        // Given:
+        Village quietVillage = new Village();
+        Village workerVillage = new Village();
+        quietVillage.setAggregateDay(true);
+        DayMetrics metrics = new DayMetrics();
+        quietVillage.setMetrics(metrics);
+        for (Village v : new Village[] {quietVillage, workerVillage}) {
+            v.setEventListener(NoOpEventSink.INSTANCE);
+            v.setFood(0);
+            v.setFoodPerDay(0);
+            v.setDaysUntilStarvation(daysUntilStarvation);
+        }
+
+        // When:
+        // A is scheduled to starve after its first day; B, added after it, is not hungry yet and keeps A walked.
+        for (Village v : new Village[] {quietVillage, workerVillage}) {
+            v.addWorker("A", "miner");
+            for (int day = 0; day < daysBeforeB; day++) {
+                v.Day();
+            }
+            v.addWorker("B", "miner");
+            for (int day = 0; day < daysAfterB; day++) {
+                v.Day();
+            }
+        }
+        // The kept counts are read before anything settles the schedule.
+        int quietAlive = quietVillage.getAliveCount();
+        int quietHungry = quietVillage.getHungryCount();
+
+        // Then:
+        assertEquals(workerVillage.getAliveCount(), quietAlive, "Alive counts should match.");
+        assertEquals(workerVillage.getHungryCount(), quietHungry, "Hungry counts should match.");
+        assertEquals(workerVillage.isGameOver(), quietVillage.isGameOver(), "Game over should match.");
+        // Handing out the workers settles the schedule, which must not starve anyone again.
+        assertWorkersMatch(workerVillage, quietVillage);
+        long alive = quietVillage.getWorkers().stream().filter(Worker::isAlive).count();
+        assertEquals(alive, quietAlive, "The kept count should match a recount.");
+        assertEquals(workerVillage.getAliveCount(), quietVillage.getAliveCount(), "Alive counts should match after settling.");
+        assertEquals(workerVillage.getHungryCount(), quietVillage.getHungryCount(), "Hungry counts should match after settling.");
+        assertEquals(2 - alive, metrics.getRegistry().counter(DayMetrics.DEATHS).getValue(), "Every death should be counted once.");
+    }
+
+    @Test
+    @DisplayName("The kept worker counts match a count of the workers after days of feeding, starving and new workers.")
+    public void testWorkerCountsMatchRecount() {
+        // Given:
+        Village quietVillage = new Village(new WorkerTable());
+        Village workerVillage = new Village(new WorkerTable());
+        quietVillage.setAggregateDay(true);
+        for (Village v : new Village[] {quietVillage, workerVillage}) {
+            v.setEventListener(NoOpEventSink.INSTANCE);
+            v.setMaxWorkers(300);
+            v.setFood(20);
+            v.setFoodPerDay(1);
+            v.setDaysUntilStarvation(5);
+            for (int i = 0; i < 200; i++) {
+                v.addWorker("Worker" + i, i % 4 == 0 ? "farmer" : "miner");
+            }
+        }
+
+        // When:
+        // Workers added part way are unfed, but not hungry yet, behind the scheduled ones.
+        for (int day = 0; day < 8; day++) {
+            if (day == 3) {
+                for (Village v : new Village[] {quietVillage, workerVillage}) {
+                    for (int i = 0; i < 50; i++) {
+                        v.addWorker("Late" + i, "builder");
+                    }
+                }
+            }
+            quietVillage.Day();
+            workerVillage.Day();
+        }
+        int[] quiet = {quietVillage.getAliveCount(), quietVillage.getHungryCount(),
+                quietVillage.getOccupationCount(Occupation.BUILDER)};
+        int[] perWorker = {workerVillage.getAliveCount(), workerVillage.getHungryCount(),
+                workerVillage.getOccupationCount(Occupation.BUILDER)};
+
+        // Then:
+        List<Worker> workers = workerVillage.getWorkers();
+        int[] expected = {
+                (int) workers.stream().filter(Worker::isAlive).count(),
+                (int) workers.stream().filter(w -> w.isAlive() && w.getDaysHungry() > 0).count(),
+                (int) workers.stream().filter(w -> w.isAlive() && w.getOccupationType() == Occupation.BUILDER).count()};
+        assertArrayEquals(expected, perWorker, "Per-worker days should keep the counts.");
+        assertArrayEquals(expected, quiet, "Quiet days should keep the counts.");
+        assertTrue(expected[0] > 0 && expected[0] < 250, "Some workers should have starved, but not all.");
+        assertTrue(expected[1] > 0, "Some living workers should be hungry.");
+    }
+
+    @Test
+    @DisplayName("Buildings are counted per type and still listed in the order they were finished.")
+    public void testBuildingInventory() {
+        // Given:
+        BuildingInventory inventory = village.getBuildingInventory();
+        ChangeTracker changes = village.TrackChanges();
+
+        // When:
+        for (int i = 0; i < 1000; i++) {
+            inventory.add("House");
+        }
+        inventory.add("Farm");
+        village.getBuildings().add(new Building("House"));
+
+        // Then:
+        assertTrue(changes.isBuildingsChanged(), "Buildings added through the inventory and the list should be saved.");
+        assertEquals(1004, village.getBuildingCount("House"), "The Houses should be counted.");
+        assertEquals(1, village.getBuildingCount("Farm"), "The Farm should be counted.");
+        assertEquals(0, village.getBuildingCount("Castle"), "There should be no Castle.");
+        assertEquals(3, inventory.getRunCount(), "Houses finished in a row should share a run.");
+        List<Building> buildings = village.getBuildings();
+        assertEquals(1005, buildings.size(), "Every building should be listed.");
+        assertEquals("Farm", buildings.get(1003).getName(), "The Farm should be listed where it was finished.");
+        assertEquals("House", buildings.get(1004).getName(), "The last House should be listed last.");
+        assertEquals(1, buildings.stream().filter(b -> b.getName().equals("Farm")).count(), "Iterating should list the Farm once.");
+    }
+
+    private static void assertWorkersMatch(Village expectedVillage, Village actualVillage) {
+        for (int i = 0; i < expectedVillage.getWorkers().size(); i++) {
+            Worker expected = expectedVillage.getWorkers().get(i);
+            Worker actual = actualVillage.getWorkers().get(i);
+            assertEquals(expected.isAlive(), actual.isAlive(), "Alive state should match for " + expected.getName());
+            assertEquals(expected.isHungry(), actual.isHungry(), "Hunger should match for " + expected.getName());
+            assertEquals(expected.getDaysHungry(), actual.getDaysHungry(), "Days hungry should match for " + expected.getName());
+        }
+    }
+
+}
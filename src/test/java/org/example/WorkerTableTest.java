@@ -0,0 +1,78 @@
+package org.example;
+
+import org.example.objects.Worker;
+import org.example.objects.WorkerTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkerTableTest {
+
+    private Village listVillage;
+    private Village tableVillage;
+
+    @BeforeEach
+    public void beforeEach() {
+        listVillage = new Village();
+        tableVillage = new Village(new WorkerTable());
+    }
+
+    @Test
+    @DisplayName("A village backed by a worker table behaves like one backed by a worker list.")
+    public void testTableMatchesList() {
+        // Given:
+        // Two identical villages with different worker stores.
+        for (Village village : new Village[] {listVillage, tableVillage}) {
+            village.setWood(5);
+            village.setFood(4);
+            village.addWorker("Lars", "farmer");
+            village.addWorker("Anders", "lumberjack");
+            village.addWorker("Mickey", "miner");
+            village.addWorker("Arta", "builder");
+            village.addWorker("Nils", "miner");
+            village.addProject("House");
+        }
+
+        // When:
+        // Simulating enough days for both food shortage and the house to complete.
+        for (int day = 0; day < 8; day++) {
+            listVillage.Day();
+            tableVillage.Day();
+        }
+
+        // Then:
+        // Resources, worker state and buildings are the same in both villages.
+        assertEquals(listVillage.getFood(), tableVillage.getFood(), "Food should match.");
+        assertEquals(listVillage.getWood(), tableVillage.getWood(), "Wood should match.");
+        assertEquals(listVillage.getMetal(), tableVillage.getMetal(), "Metal should match.");
+        assertEquals(listVillage.getMaxWorkers(), tableVillage.getMaxWorkers(), "Max workers should match.");
+        for (int i = 0; i < listVillage.getWorkers().size(); i++) {
+            Worker expected = listVillage.getWorkers().get(i);
+            Worker actual = tableVillage.getWorkers().get(i);
+            assertEquals(expected.getName(), actual.getName(), "Names should match.");
+            assertEquals(expected.getOccupation(), actual.getOccupation(), "Occupations should match.");
+            assertEquals(expected.isAlive(), actual.isAlive(), "Alive state should match for " + expected.getName());
+            assertEquals(expected.isHungry(), actual.isHungry(), "Hunger should match for " + expected.getName());
+            assertEquals(expected.getDaysHungry(), actual.getDaysHungry(), "Days hungry should match for " + expected.getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Changes made through the worker view are written to the table.")
+    public void testViewWritesThrough() {
+        // Given:
+        tableVillage.addWorker("Mickey", "miner");
+
+        // When:
+        Worker worker = tableVillage.getWorkers().get(0);
+        worker.setDaysHungry(3);
+        worker.setAlive(false);
+
+        // Then:
+        assertEquals(3, tableVillage.getWorkerStore().getDaysHungry(0), "Days hungry should be stored in the table.");
+        assertFalse(tableVillage.getWorkerStore().isAlive(0), "The worker should be dead in the table.");
+        assertEquals("miner", worker.getOccupation(), "Occupation should be read from the table.");
+    }
+}